@@ -8,9 +8,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-
 @Slf4j
 @Configuration
 @RequiredArgsConstructor
@@ -52,9 +49,4 @@ public class BotConfig {
             return null;
         }
     }
-
-    @Bean
-    public ExecutorService executorService() {
-        return Executors.newFixedThreadPool(30);
-    }
 }
\ No newline at end of file
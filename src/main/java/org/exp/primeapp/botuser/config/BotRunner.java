@@ -13,24 +13,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.ExecutorService;
 
 @Slf4j
 @Component
 public class BotRunner implements CommandLineRunner {
 
     private final TelegramBot userBot;
-    private final ExecutorService executorService;
+    private final BotUpdateExecutor botUpdateExecutor;
     private final MessageHandler messageHandler;
     private final CallbackHandler callbackHandler;
 
     @Autowired(required = false)
     public BotRunner(@org.springframework.beans.factory.annotation.Qualifier("userBot") TelegramBot userBot,
-                     ExecutorService executorService, 
+                     BotUpdateExecutor botUpdateExecutor,
                      MessageHandler messageHandler, 
                      CallbackHandler callbackHandler) {
         this.userBot = userBot;
-        this.executorService = executorService;
+        this.botUpdateExecutor = botUpdateExecutor;
         this.messageHandler = messageHandler;
         this.callbackHandler = callbackHandler;
     }
@@ -53,29 +52,54 @@ public class BotRunner implements CommandLineRunner {
 
         userBot.setUpdatesListener(updates -> {
             log.debug("Received {} updates from User Bot", updates.size());
-            for (Update update : updates) {
-                executorService.execute(() -> {
-                    try {
-                        log.debug("Processing update: updateId={}, message={}, callbackQuery={}", 
-                                update.updateId(), 
-                                update.message() != null ? "present" : "null",
-                                update.callbackQuery() != null ? "present" : "null");
-                        
-                        if (update.message() != null) {
-                            messageHandler.accept(update.message());
-                        } else if (update.callbackQuery() != null) {
-                            callbackHandler.accept(update.callbackQuery());
-                        } else {
-                            log.warn("Unknown update type: updateId={}", update.updateId());
-                        }
-                    } catch (Exception e) {
-                        log.error("Error processing update: updateId={}", update.updateId(), e);
+            int lastAccepted = UpdatesListener.CONFIRMED_UPDATES_NONE;
+            try {
+                for (Update update : updates) {
+                    // Bitta chat ichida tartib saqlanadi, chat'lar esa parallel
+                    if (!botUpdateExecutor.submit(chatIdOf(update), () -> process(update))) {
+                        // Navbat to'la - qolgan update'lar tasdiqlanmaydi va keyingi poll'da qayta keladi
+                        log.warn("Bot update queue is full, deferring from updateId={}", update.updateId());
+                        return lastAccepted;
                     }
-                });
+                    lastAccepted = update.updateId();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return lastAccepted;
             }
             return UpdatesListener.CONFIRMED_UPDATES_ALL;
         });
 
         log.info("🤖 User Bot listener started successfully!");
     }
+
+    private void process(Update update) {
+        try {
+            log.debug("Processing update: updateId={}, message={}, callbackQuery={}",
+                    update.updateId(),
+                    update.message() != null ? "present" : "null",
+                    update.callbackQuery() != null ? "present" : "null");
+
+            if (update.message() != null) {
+                messageHandler.accept(update.message());
+            } else if (update.callbackQuery() != null) {
+                callbackHandler.accept(update.callbackQuery());
+            } else {
+                log.warn("Unknown update type: updateId={}", update.updateId());
+            }
+        } catch (Exception e) {
+            log.error("Error processing update: updateId={}", update.updateId(), e);
+        }
+    }
+
+    private Long chatIdOf(Update update) {
+        if (update.message() != null && update.message().chat() != null) {
+            return update.message().chat().id();
+        }
+        if (update.callbackQuery() != null && update.callbackQuery().from() != null) {
+            return update.callbackQuery().from().id();
+        }
+        // Chat'ga bog'lanmagan update - alohida navbat
+        return -(long) update.updateId();
+    }
 }
@@ -0,0 +1,162 @@
+package org.exp.primeapp.botuser.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bot update'larini virtual thread'larda bajaradi.
+ * Bitta chat'ning update'lari ketma-ket (kelgan tartibda), turli chat'lar parallel ishlaydi.
+ * Umumiy navbat chegaralangan - to'lsa submit kutadi, keyin rad etadi (backpressure).
+ */
+@Slf4j
+@Component
+public class BotUpdateExecutor {
+
+    /**
+     * Bitta chat navbati - faqat queues.compute ichida o'zgartiriladi
+     */
+    private static final class ChatQueue {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean draining;
+    }
+
+    private final ExecutorService virtualThreads = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("bot-update-", 0).factory());
+    private final ConcurrentHashMap<Long, ChatQueue> queues = new ConcurrentHashMap<>();
+
+    private final Semaphore permits;
+    private final int maxPending;
+    private final int maxPerChat;
+    private final long acquireTimeoutMs;
+
+    private final Timer queueWait;
+    private final Timer processing;
+    private final Counter rejected;
+    private final Counter dropped;
+
+    public BotUpdateExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${telegram.bot.updates.max-pending:1000}") int maxPending,
+            @Value("${telegram.bot.updates.max-per-chat:20}") int maxPerChat,
+            @Value("${telegram.bot.updates.acquire-timeout-ms:500}") long acquireTimeoutMs) {
+        this.permits = new Semaphore(maxPending);
+        this.maxPending = maxPending;
+        this.maxPerChat = maxPerChat;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+
+        Gauge.builder("bot.updates.pending", this, executor -> executor.maxPending - executor.permits.availablePermits())
+                .description("Navbatda va bajarilayotgan update'lar soni")
+                .register(meterRegistry);
+        Gauge.builder("bot.updates.active.chats", queues, ConcurrentHashMap::size)
+                .description("Hozir update'i bor chat'lar soni")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("bot.updates.queue.wait")
+                .description("Update qabul qilingandan bajarila boshlaguncha vaqt")
+                .register(meterRegistry);
+        this.processing = Timer.builder("bot.updates.processing")
+                .description("Update'ni qayta ishlash vaqti")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("bot.updates.rejected")
+                .description("Umumiy navbat to'lgani uchun qayta yuborishga qoldirilgan update'lar")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("bot.updates.dropped")
+                .description("Bitta chat navbati to'lgani uchun tashlab yuborilgan update'lar")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Update'ni chat navbatiga qo'shadi.
+     *
+     * @return false - umumiy navbat to'la, update keyinroq qayta olinishi kerak
+     */
+    public boolean submit(Long chatId, Runnable task) throws InterruptedException {
+        if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+            rejected.increment();
+            return false;
+        }
+
+        long enqueuedAt = System.nanoTime();
+        Runnable timedTask = () -> {
+            queueWait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            try {
+                processing.record(task);
+            } finally {
+                permits.release();
+            }
+        };
+
+        boolean[] startDrain = new boolean[1];
+        boolean[] chatFull = new boolean[1];
+        queues.compute(chatId, (id, queue) -> {
+            ChatQueue chatQueue = queue != null ? queue : new ChatQueue();
+            if (chatQueue.tasks.size() >= maxPerChat) {
+                chatFull[0] = true;
+                return chatQueue;
+            }
+            chatQueue.tasks.add(timedTask);
+            if (!chatQueue.draining) {
+                chatQueue.draining = true;
+                startDrain[0] = true;
+            }
+            return chatQueue;
+        });
+
+        if (chatFull[0]) {
+            // Bitta chat spam qilsa boshqalarni to'xtatmasligi uchun ortiqchasi tashlanadi
+            permits.release();
+            dropped.increment();
+            log.warn("Chat {} update queue is full ({}), update dropped", chatId, maxPerChat);
+            return true;
+        }
+        if (startDrain[0]) {
+            virtualThreads.execute(() -> drain(chatId));
+        }
+        return true;
+    }
+
+    private void drain(Long chatId) {
+        while (true) {
+            Runnable[] next = new Runnable[1];
+            // Navbat bo'shasa shu compute ichida map'dan o'chiriladi - yangi update yangi drain boshlaydi
+            queues.computeIfPresent(chatId, (id, queue) -> {
+                next[0] = queue.tasks.poll();
+                return next[0] != null ? queue : null;
+            });
+            if (next[0] == null) {
+                return;
+            }
+            try {
+                next[0].run();
+            } catch (Exception e) {
+                log.error("Error processing bot update for chat {}", chatId, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        virtualThreads.shutdown();
+        try {
+            if (!virtualThreads.awaitTermination(10, TimeUnit.SECONDS)) {
+                virtualThreads.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            virtualThreads.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -12,8 +12,10 @@ import jakarta.transaction.Transactional;
 import org.exp.primeapp.botuser.service.interfaces.ButtonService;
 import org.exp.primeapp.botuser.service.interfaces.MessageService;
 import org.exp.primeapp.models.entities.User;
+import org.exp.primeapp.models.events.OtpIssuedEvent;
 import org.exp.primeapp.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -26,15 +28,18 @@ public class MessageServiceImpl implements MessageService {
     private final ButtonService buttonService;
     private final UserServiceImpl botUserService;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public MessageServiceImpl(@Qualifier("userBot") TelegramBot telegramBot,
                               ButtonService buttonService,
                               UserServiceImpl botUserService,
-                              UserRepository userRepository) {
+                              UserRepository userRepository,
+                              ApplicationEventPublisher eventPublisher) {
         this.telegramBot = telegramBot;
         this.buttonService = buttonService;
         this.botUserService = botUserService;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -85,8 +90,8 @@ public class MessageServiceImpl implements MessageService {
 
     @Override
     public void removeKeyboardAndSendCode(User user) {
-        Integer oneTimeCode = botUserService.generateOneTimeCode();
         LocalDateTime expirationTime = LocalDateTime.now().plusMinutes(2);
+        Integer oneTimeCode = botUserService.generateOneTimeCode(user.getTelegramId(), expirationTime);
         telegramBot.execute(new SendMessage(user.getTelegramId(),
                 "🔒 Kod:\n<pre>" + oneTimeCode + "</pre>"
         )
@@ -107,8 +112,8 @@ public class MessageServiceImpl implements MessageService {
 
     @Transactional
     public void sendCode(User user) {
-        Integer oneTimeCode = botUserService.generateOneTimeCode();
         LocalDateTime expirationTime = LocalDateTime.now().plusMinutes(5);
+        Integer oneTimeCode = botUserService.generateOneTimeCode(user.getTelegramId(), expirationTime);
         SendResponse response = telegramBot.execute(new SendMessage(user.getTelegramId(),
                         "🔒 Kod: <pre>" + oneTimeCode + "</pre>" + "\n\n\uD83D\uDD17 Bosing va Kiring: \nprime/login"
                 )
@@ -117,13 +122,16 @@ public class MessageServiceImpl implements MessageService {
         );
         userRepository.updateVerifyCodeAndExpiration(user.getTelegramId(), oneTimeCode, expirationTime);
         userRepository.updateMessageId(user.getTelegramId(), response.message().messageId());
+        // Xabar aynan expiration vaqtida o'chiriladi (OtpExpirationService)
+        eventPublisher.publishEvent(
+                new OtpIssuedEvent(user.getTelegramId(), response.message().messageId(), expirationTime));
         //sendLoginMsg(user.getTelegramId());
     }
 
     @Transactional
     public void renewCode(User user) {
-        Integer oneTimeCode = botUserService.generateOneTimeCode();
         LocalDateTime expirationTime = LocalDateTime.now().plusMinutes(5);
+        Integer oneTimeCode = botUserService.generateOneTimeCode(user.getTelegramId(), expirationTime);
 
         SendResponse response = (SendResponse) telegramBot.execute(new EditMessageText(
                 user.getTelegramId(),
@@ -134,6 +142,9 @@ public class MessageServiceImpl implements MessageService {
         );
         userRepository.updateVerifyCodeAndExpiration(user.getTelegramId(), oneTimeCode, expirationTime);
         userRepository.updateMessageId(user.getTelegramId(), response.message().messageId());
+        // Xabar aynan expiration vaqtida o'chiriladi (OtpExpirationService)
+        eventPublisher.publishEvent(
+                new OtpIssuedEvent(user.getTelegramId(), response.message().messageId(), expirationTime));
     }
 
     @Override
@@ -1,27 +1,62 @@
 package org.exp.primeapp.botuser.service.impls;
 
 import com.pengrad.telegrambot.TelegramBot;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.exp.primeapp.botuser.service.interfaces.MessageService;
-import org.exp.primeapp.models.entities.User;
+import org.exp.primeapp.models.events.OtpIssuedEvent;
 import org.exp.primeapp.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * OTP xabarlarini aynan expiration vaqtida o'chiradi.
+ * Kod yuborilganda xabar DelayQueue'ga qo'shiladi - jadvalni davriy skan qilish yo'q.
+ * Startup'da o'chirilmagan xabarlar DB'dan bir marta yuklanadi.
+ */
 @Slf4j
 @Service
 public class OtpExpirationService {
 
+    /**
+     * Bitta OTP xabarining expiration'i. Kod yangilansa eski yozuv eskiradi (pending'da boshqa yozuv turadi).
+     */
+    private record OtpExpiry(Long telegramId, Integer messageId, long expiresAtMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiresAtMillis, ((OtpExpiry) other).expiresAtMillis);
+        }
+    }
+
     private final UserRepository userRepository;
     private final MessageService messageService;
     private final TelegramBot telegramBot;
 
+    private final DelayQueue<OtpExpiry> expiryQueue = new DelayQueue<>();
+    // telegramId -> oxirgi ro'yxatga olingan expiry
+    private final Map<Long, OtpExpiry> pending = new ConcurrentHashMap<>();
+    private volatile Thread worker;
+
     @Autowired(required = false)
     public OtpExpirationService(UserRepository userRepository,
                                MessageService messageService,
@@ -31,42 +66,82 @@ public class OtpExpirationService {
         this.telegramBot = telegramBot;
     }
 
-    // Har 30 soniyada tekshirish
-    @Scheduled(fixedRate = 30000)
-    @Transactional
-    public void deleteExpiredOtpMessages() {
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
         if (telegramBot == null) {
             return; // Bot disabled bo'lsa, ishlamaydi
         }
 
-        try {
-            LocalDateTime now = LocalDateTime.now();
-            List<User> usersWithExpiredCodes = userRepository.findUsersWithExpiredOtpCodes(now);
+        // Restart'dan oldin yuborilgan, hali o'chirilmagan xabarlar
+        List<Object[]> pendingMessages = userRepository.findPendingOtpMessages();
+        for (Object[] row : pendingMessages) {
+            register((Long) row[0], (Integer) row[1], (LocalDateTime) row[2]);
+        }
+        log.info("OTP expiry queue rebuilt with {} pending messages", pendingMessages.size());
 
-            if (usersWithExpiredCodes.isEmpty()) {
-                return;
-            }
+        worker = Thread.ofVirtual().name("otp-expiry").start(this::runExpiryLoop);
+    }
 
-            log.info("Found {} users with expired OTP codes. Deleting messages...", usersWithExpiredCodes.size());
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOtpIssued(OtpIssuedEvent event) {
+        if (telegramBot == null) {
+            return;
+        }
+        register(event.telegramId(), event.messageId(), event.expiresAt());
+    }
 
-            for (User user : usersWithExpiredCodes) {
-                if (user.getTelegramId() != null && user.getMessageId() != null) {
-                    try {
-                        messageService.deleteOtpMessage(user.getTelegramId(), user.getMessageId());
+    private void register(Long telegramId, Integer messageId, LocalDateTime expiresAt) {
+        if (telegramId == null || messageId == null || expiresAt == null) {
+            return;
+        }
+        long expiresAtMillis = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        OtpExpiry expiry = new OtpExpiry(telegramId, messageId, expiresAtMillis);
+        pending.put(telegramId, expiry);
+        expiryQueue.put(expiry);
+    }
+
+    private void runExpiryLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<OtpExpiry> expired = new ArrayList<>();
+                expired.add(expiryQueue.take());
+                // Shu paytgacha muddati o'tganlarni ham birga olish - DB update bitta query
+                expiryQueue.drainTo(expired);
+                deleteExpired(expired);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("❌ Error deleting expired OTP messages: {}", e.getMessage(), e);
+            }
+        }
+    }
 
-                        // Message ID ni null qilish
-                        user.setMessageId(null);
-                        userRepository.save(user);
-                    } catch (Exception e) {
-                        log.error("Error deleting OTP message for user {}: {}", user.getId(), e.getMessage());
-                    }
-                }
+    private void deleteExpired(List<OtpExpiry> expired) {
+        List<Long> telegramIds = new ArrayList<>();
+        for (OtpExpiry expiry : expired) {
+            // Kod yangilangan bo'lsa pending'da yangi yozuv turadi - eskisi e'tiborsiz qoldiriladi
+            if (!pending.remove(expiry.telegramId(), expiry)) {
+                continue;
             }
+            try {
+                messageService.deleteOtpMessage(expiry.telegramId(), expiry.messageId());
+                telegramIds.add(expiry.telegramId());
+            } catch (Exception e) {
+                log.error("Error deleting OTP message for telegramId {}: {}", expiry.telegramId(), e.getMessage());
+            }
+        }
 
-            log.info("✅ Completed deleting expired OTP messages");
-        } catch (Exception e) {
-            log.error("❌ Error in scheduled task for deleting expired OTP messages: {}", e.getMessage(), e);
+        if (!telegramIds.isEmpty()) {
+            int cleared = userRepository.clearExpiredMessageIds(telegramIds, LocalDateTime.now());
+            log.info("✅ Deleted {} expired OTP messages", cleared);
         }
     }
-}
 
+    @PreDestroy
+    void stop() {
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+}
@@ -4,12 +4,14 @@ import lombok.RequiredArgsConstructor;
 import org.exp.primeapp.botuser.service.interfaces.UserService;
 import org.exp.primeapp.models.entities.Role;
 import org.exp.primeapp.models.entities.User;
+import org.exp.primeapp.models.events.UserChangedEvent;
 import org.exp.primeapp.repository.RoleRepository;
 import org.exp.primeapp.repository.UserRepository;
+import org.exp.primeapp.service.impl.global.auth.OtpCodeStore;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -20,6 +22,8 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OtpCodeStore otpCodeStore;
 
     @Transactional
     @Override
@@ -34,8 +38,8 @@ public class UserServiceImpl implements UserService {
         List<Role> roleUser = roleRepository.findALlByNameIn(List.of("ROLE_USER"));
 
         // Generate one-time code and set expiration (2 minutes from now)
-        Integer oneTimeCode = generateOneTimeCode();
         LocalDateTime expirationTime = LocalDateTime.now().plusMinutes(2);
+        Integer oneTimeCode = generateOneTimeCode(tgUser.id(), expirationTime);
 
         User build = User.builder()
                 .telegramId(tgUser.id())
@@ -55,8 +59,8 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public void updateOneTimeCode(Long userId) {
-        Integer oneTimeCode = generateOneTimeCode();
         LocalDateTime expirationTime = LocalDateTime.now().plusMinutes(2);
+        Integer oneTimeCode = generateOneTimeCode(userId, expirationTime);
         userRepository.updateVerifyCodeAndExpiration(userId, oneTimeCode, expirationTime);
     }
 
@@ -70,6 +74,7 @@ public class UserServiceImpl implements UserService {
         // Telefon raqamidan + ni olib tashlash
         String formattedPhone = formatPhoneNumber(phoneNumber);
         userRepository.updatePhoneByUserId(userId, formattedPhone);
+        eventPublisher.publishEvent(UserChangedEvent.ofTelegramId(userId));
     }
 
     /**
@@ -94,9 +99,8 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public Integer generateOneTimeCode() {
-        SecureRandom secureRandom = new SecureRandom();
-        // Generate a 6-digit code
-        return 100000 + secureRandom.nextInt(900000);
+    public Integer generateOneTimeCode(Long telegramId, LocalDateTime expiresAt) {
+        // 6 xonali, boshqa user'larning aktiv kodlari bilan to'qnashmaydi
+        return otpCodeStore.issue(telegramId, expiresAt);
     }
 }
\ No newline at end of file
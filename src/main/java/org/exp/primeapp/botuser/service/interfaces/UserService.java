@@ -3,6 +3,8 @@ package org.exp.primeapp.botuser.service.interfaces;
 import org.exp.primeapp.models.entities.User;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
 @Service
 public interface UserService {
 
@@ -10,7 +12,7 @@ public interface UserService {
 
     void updateTgUser(Long tgUserId, User user);
 
-    Integer generateOneTimeCode();
+    Integer generateOneTimeCode(Long telegramId, LocalDateTime expiresAt);
 
     void updateOneTimeCode(Long userId);
 
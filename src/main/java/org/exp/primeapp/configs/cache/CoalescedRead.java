@@ -0,0 +1,29 @@
+package org.exp.primeapp.configs.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Qimmat o'qish metodlari uchun single-flight + stale-while-revalidate (CoalescedReadAspect).
+ * Bir xil argumentli parallel chaqiruvlar bitta hisoblashni kutadi; freshSeconds o'tgach natija
+ * yana staleSeconds davomida qaytariladi, bu vaqtda fonda bitta yangilash ishlaydi.
+ * Product/category o'zgarishida barcha natijalar bekor bo'ladi - keyingi chaqiruv kutib yangisini oladi.
+ * Natija immutable bo'lishi kerak - chaqiruvchilar bir xil obyektni oladi.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CoalescedRead {
+
+    /**
+     * Metrics tag va key prefiksi
+     */
+    String value();
+
+    long freshSeconds() default 30;
+
+    long staleSeconds() default 300;
+}
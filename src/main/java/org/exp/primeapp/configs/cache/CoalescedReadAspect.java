@@ -0,0 +1,171 @@
+package org.exp.primeapp.configs.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.exp.primeapp.models.events.CategoryChangedEvent;
+import org.exp.primeapp.models.events.ProductCardsRebuiltEvent;
+import org.exp.primeapp.models.events.ProductChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @CoalescedRead metodlari uchun natija cache'i va in-flight yuklashlar jadvali.
+ * Transaction'dan tashqarida ishlaydi (HIGHEST_PRECEDENCE) - bitta yuklash = bitta transaction.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CoalescedReadAspect {
+
+    private record Key(String name, List<Object> args) {
+    }
+
+    private record Entry(Object value, long loadedAtNanos, long generation) {
+    }
+
+    private enum Outcome {HIT, STALE, COALESCED, MISS}
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    // Har bir product/category o'zgarishida oshadi - eski generation'dagi natija eskirgan hisoblanadi
+    private final AtomicLong generation = new AtomicLong();
+    // Fon yangilashlari - in-flight jadvali tufayli har bir key uchun ko'pi bilan bittadan
+    private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final MeterRegistry meterRegistry;
+    private final int maxEntries;
+
+    public CoalescedReadAspect(
+            MeterRegistry meterRegistry,
+            @Value("${app.coalescing.max-entries:1000}") int maxEntries) {
+        this.meterRegistry = meterRegistry;
+        this.maxEntries = maxEntries;
+        Gauge.builder("read.coalescing.in_flight", inFlight, ConcurrentHashMap::size)
+                .description("Hozir bajarilayotgan coalesced yuklashlar soni")
+                .register(meterRegistry);
+        Gauge.builder("read.coalescing.entries", entries, ConcurrentHashMap::size)
+                .description("Saqlangan coalesced natijalar soni")
+                .register(meterRegistry);
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductCardsRebuilt(ProductCardsRebuiltEvent event) {
+        generation.incrementAndGet();
+    }
+
+    @Around("@annotation(coalescedRead)")
+    public Object coalesce(ProceedingJoinPoint joinPoint, CoalescedRead coalescedRead) throws Throwable {
+        Key key = new Key(coalescedRead.value(), Arrays.asList(joinPoint.getArgs()));
+        long now = System.nanoTime();
+
+        Entry entry = entries.get(key);
+        // Product/category o'zgargandan keyin eski natija qaytarilmaydi (admin tahrirdan keyin darhol ko'radi) -
+        // bu miss, stampede'ni single-flight to'xtatadi. Stale faqat TTL tugaganda
+        if (entry != null && entry.generation() == generation.get()) {
+            long age = now - entry.loadedAtNanos();
+            if (age <= TimeUnit.SECONDS.toNanos(coalescedRead.freshSeconds())) {
+                record(coalescedRead, Outcome.HIT);
+                return entry.value();
+            }
+            if (age <= TimeUnit.SECONDS.toNanos(coalescedRead.freshSeconds() + coalescedRead.staleSeconds())) {
+                // Eskirgan natija darhol qaytadi, yangilash fonda (bitta)
+                refreshInBackground(key, joinPoint);
+                record(coalescedRead, Outcome.STALE);
+                return entry.value();
+            }
+        }
+
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            record(coalescedRead, Outcome.COALESCED);
+            return await(existing);
+        }
+        record(coalescedRead, Outcome.MISS);
+        load(key, joinPoint, leader);
+        return await(leader);
+    }
+
+    private void refreshInBackground(Key key, ProceedingJoinPoint joinPoint) {
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, leader) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> load(key, joinPoint, leader));
+        } catch (RuntimeException e) {
+            inFlight.remove(key, leader);
+            leader.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Metodni chaqiradi, natijani saqlaydi va kutayotganlarga beradi
+     */
+    private void load(Key key, ProceedingJoinPoint joinPoint, CompletableFuture<Object> leader) {
+        long startGeneration = generation.get();
+        try {
+            Object value = joinPoint.proceed();
+            if (value != null && (entries.size() < maxEntries || entries.containsKey(key))) {
+                // Yuklash vaqtida o'zgarish bo'lsa natija darhol eskirgan - keyingi so'rov yangilaydi
+                entries.put(key, new Entry(value, System.nanoTime(), startGeneration));
+            }
+            leader.complete(value);
+        } catch (Throwable e) {
+            log.warn("Coalesced load failed for {}: {}", key.name(), e.getMessage());
+            leader.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> future) throws Throwable {
+        try {
+            return future.get();
+        } catch (ExecutionException | CompletionException e) {
+            throw e.getCause() != null ? e.getCause() : e;
+        }
+    }
+
+    private void record(CoalescedRead coalescedRead, Outcome outcome) {
+        Counter.builder("read.coalescing.requests")
+                .description("Coalesced o'qishlar natijasi bo'yicha")
+                .tag("name", coalescedRead.value())
+                .tag("outcome", outcome.name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,154 @@
+package org.exp.primeapp.configs.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Size bilan cheklangan LRU cache, har bir yozuv TTL o'tgach eskiradi.
+ * Qiymatlar immutable snapshot bo'lishi kerak - cache ularni nusxalamaydi.
+ */
+public class LruTtlCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAtMillis) {
+    }
+
+    private final long ttlMillis;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    // Har bir invalidation'da oshadi - eski load natijasi cache'ga yozilmasligi uchun
+    private long generation;
+
+    public LruTtlCache(int maxSize, Duration ttl) {
+        this.ttlMillis = ttl.toMillis();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() < System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+    }
+
+    /**
+     * Cache'dan oladi, bo'lmasa loader orqali hisoblab saqlaydi.
+     * Load vaqtida invalidation bo'lsa natija qaytariladi, lekin saqlanmaydi.
+     */
+    public V getOrLoad(K key, Supplier<V> loader) {
+        long startGeneration;
+        synchronized (this) {
+            V cached = get(key);
+            if (cached != null) {
+                return cached;
+            }
+            startGeneration = generation;
+        }
+
+        V loaded = loader.get();
+        if (loaded != null) {
+            synchronized (this) {
+                if (generation == startGeneration) {
+                    put(key, loaded);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Bir nechta key: cache'da yo'qlari bitta loader chaqiruvi bilan yuklanadi.
+     * Loader topilmagan key'larni natijaga qo'shmaydi; getOrLoad kabi invalidation'dan keyin saqlanmaydi.
+     */
+    public Map<K, V> getAllOrLoad(Collection<K> keys, Function<List<K>, Map<K, V>> loader) {
+        Map<K, V> result = new HashMap<>();
+        List<K> missing = new ArrayList<>();
+        long startGeneration;
+        synchronized (this) {
+            for (K key : keys) {
+                V cached = get(key);
+                if (cached != null) {
+                    result.put(key, cached);
+                } else {
+                    missing.add(key);
+                }
+            }
+            startGeneration = generation;
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<K, V> loaded = loader.apply(missing);
+        synchronized (this) {
+            if (generation == startGeneration) {
+                loaded.forEach(this::put);
+            }
+        }
+        result.putAll(loaded);
+        return result;
+    }
+
+    /**
+     * Load boshlanishidagi generation - keyin putIfUnchanged bilan ishlatiladi
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Load vaqtida invalidation bo'lmagan bo'lsagina saqlaydi
+     */
+    public synchronized boolean putIfUnchanged(K key, V value, long expectedGeneration) {
+        if (generation != expectedGeneration) {
+            return false;
+        }
+        put(key, value);
+        return true;
+    }
+
+    public synchronized void invalidate(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateIf(Predicate<K> predicate) {
+        generation++;
+        entries.keySet().removeIf(predicate);
+    }
+
+    public synchronized void invalidateValuesIf(Predicate<V> predicate) {
+        generation++;
+        entries.values().removeIf(entry -> predicate.test(entry.value()));
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,30 @@
+package org.exp.primeapp.configs.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * APPROXIMATE sahifalash uchun filter bo'yicha COUNT natijalari.
+ * Yozuvlarda tozalanmaydi - son TTL davomida eskirishi mumkin, shuning uchun taxminiy.
+ */
+@Component
+public class PageCountCache {
+
+    private final LruTtlCache<Object, Long> counts;
+
+    public PageCountCache(
+            @Value("${app.cache.page-count.max-size:1000}") int maxSize,
+            @Value("${app.cache.page-count.ttl-seconds:120}") long ttlSeconds) {
+        this.counts = new LruTtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    /**
+     * key - filter qiymatlari record'i (equals/hashCode bilan)
+     */
+    public long getOrCount(Object key, LongSupplier counter) {
+        return counts.getOrLoad(key, counter::getAsLong);
+    }
+}
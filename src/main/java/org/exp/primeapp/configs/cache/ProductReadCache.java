@@ -0,0 +1,149 @@
+package org.exp.primeapp.configs.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.exp.primeapp.models.dto.request.ProductFacetFilter;
+import org.exp.primeapp.models.dto.responce.user.CategoryRes;
+import org.exp.primeapp.models.dto.responce.user.ProductFacetsRes;
+import org.exp.primeapp.models.dto.responce.user.ProductPageRes;
+import org.exp.primeapp.models.dto.responce.user.ProductRes;
+import org.exp.primeapp.models.dto.responce.user.page.CursorPageRes;
+import org.exp.primeapp.models.dto.responce.user.page.PageRes;
+import org.exp.primeapp.models.enums.PageCountMode;
+import org.exp.primeapp.models.events.CategoryChangedEvent;
+import org.exp.primeapp.models.events.ProductCardsRebuiltEvent;
+import org.exp.primeapp.models.events.ProductChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Storefront o'qishlari uchun in-process read-model cache.
+ * Admin yozuvlari ProductChangedEvent / CategoryChangedEvent publish qiladi,
+ * cache ularni commit'dan keyin tozalaydi.
+ */
+@Slf4j
+@Component
+public class ProductReadCache {
+
+    /**
+     * Listing sahifasi uchun key: barcha filterlar + sort + count rejimi + sahifa
+     */
+    public record ProductPageKey(
+            String spotlightName,
+            String categoryName,
+            String colorName,
+            String sizeName,
+            String brandName,
+            String tag,
+            String sortBy,
+            PageCountMode countMode,
+            int page,
+            int size
+    ) {
+    }
+
+    /**
+     * Cursor (keyset) listing uchun key: filterlar + sort + cursor + size
+     */
+    public record ProductCursorKey(
+            String spotlightName,
+            String categoryName,
+            String colorName,
+            String sizeName,
+            String brandName,
+            String tag,
+            String sortBy,
+            String cursor,
+            int size
+    ) {
+    }
+
+    private static final String ACTIVE_CATEGORIES_KEY = "ACTIVE";
+
+    private final LruTtlCache<Long, ProductRes> productsById;
+    private final LruTtlCache<ProductPageKey, PageRes<ProductPageRes>> productPages;
+    private final LruTtlCache<ProductCursorKey, CursorPageRes<ProductPageRes>> productCursorPages;
+    private final LruTtlCache<ProductFacetFilter, ProductFacetsRes> facets;
+    private final LruTtlCache<String, List<CategoryRes>> categories;
+
+    public ProductReadCache(
+            @Value("${app.cache.products.max-size:2000}") int productsMaxSize,
+            @Value("${app.cache.product-pages.max-size:500}") int pagesMaxSize,
+            @Value("${app.cache.ttl-seconds:300}") long ttlSeconds) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.productsById = new LruTtlCache<>(productsMaxSize, ttl);
+        this.productPages = new LruTtlCache<>(pagesMaxSize, ttl);
+        this.productCursorPages = new LruTtlCache<>(pagesMaxSize, ttl);
+        this.facets = new LruTtlCache<>(pagesMaxSize, ttl);
+        this.categories = new LruTtlCache<>(16, ttl);
+    }
+
+    public ProductRes getProduct(Long productId, Supplier<ProductRes> loader) {
+        return productsById.getOrLoad(productId, loader);
+    }
+
+    public Map<Long, ProductRes> getProducts(Collection<Long> productIds,
+            Function<List<Long>, Map<Long, ProductRes>> loader) {
+        return productsById.getAllOrLoad(productIds, loader);
+    }
+
+    public PageRes<ProductPageRes> getProductPage(ProductPageKey key, Supplier<PageRes<ProductPageRes>> loader) {
+        return productPages.getOrLoad(key, loader);
+    }
+
+    public CursorPageRes<ProductPageRes> getProductCursorPage(ProductCursorKey key,
+            Supplier<CursorPageRes<ProductPageRes>> loader) {
+        return productCursorPages.getOrLoad(key, loader);
+    }
+
+    public ProductFacetsRes getFacets(ProductFacetFilter filter, Supplier<ProductFacetsRes> loader) {
+        return facets.getOrLoad(filter, loader);
+    }
+
+    public List<CategoryRes> getActiveCategories(Supplier<List<CategoryRes>> loader) {
+        return categories.getOrLoad(ACTIVE_CATEGORIES_KEY, loader);
+    }
+
+    // PublicResponseCacheFilter'dan oldin - javob cache'i eski read model bilan qayta to'lmasligi uchun
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        event.productIds().forEach(productsById::invalidate);
+        // Product qaysi sahifalarda borligini bilmaymiz - listing'lar to'liq tozalanadi
+        productPages.invalidateAll();
+        productCursorPages.invalidateAll();
+        facets.invalidateAll();
+        log.debug("Product read cache invalidated for products: {}", event.productIds());
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        // Category nomi ProductRes ichida ham bor, status esa listing'ga ta'sir qiladi
+        categories.invalidateAll();
+        productsById.invalidateAll();
+        productPages.invalidateAll();
+        productCursorPages.invalidateAll();
+        facets.invalidateAll();
+        log.debug("Read cache fully invalidated due to category change: {}", event.categoryId());
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductCardsRebuilt(ProductCardsRebuiltEvent event) {
+        productsById.invalidateAll();
+        productPages.invalidateAll();
+        productCursorPages.invalidateAll();
+        facets.invalidateAll();
+        log.debug("Read cache invalidated due to product cards rebuild");
+    }
+}
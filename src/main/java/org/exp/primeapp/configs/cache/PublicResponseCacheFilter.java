@@ -0,0 +1,207 @@
+package org.exp.primeapp.configs.cache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.exp.primeapp.models.events.CategoryChangedEvent;
+import org.exp.primeapp.models.events.ProductCardsRebuiltEvent;
+import org.exp.primeapp.models.events.ProductChangedEvent;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import static org.exp.primeapp.utils.Const.*;
+
+/**
+ * Ommaviy catalog GET'lari uchun tayyor javob cache'i: JSON bir marta serialize va gzip qilinadi,
+ * keyingi so'rovlarga bayt'lar to'g'ridan-to'g'ri yoziladi. ETag - kontent hash'i, If-None-Match bo'lsa 304.
+ * Security chain'dan keyin ishlaydi (default filter order) - ruxsat tekshiruvi har doim bajariladi.
+ * Product/category o'zgarishida (ProductReadCache'dan keyin) to'liq tozalanadi.
+ */
+@Component
+public class PublicResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String CATEGORY_PATH = API + V1 + CATEGORY;
+    private static final String PRODUCT_PATH = API + V1 + PRODUCT;
+    private static final Pattern CATEGORY_BY_SPOTLIGHT = Pattern.compile(Pattern.quote(CATEGORY_PATH) + "/[^/]+");
+    private static final Pattern PRODUCT_DETAIL = Pattern.compile(Pattern.quote(PRODUCT_PATH) + "/\\d+");
+    private static final String GZIP = "gzip";
+
+    private record CachedResponse(String contentType, String etag, byte[] body, byte[] gzipBody) {
+    }
+
+    private final LruTtlCache<String, CachedResponse> responses;
+    private final int cachedListingPages;
+    private final int gzipLevel;
+
+    public PublicResponseCacheFilter(
+            @Value("${app.response-cache.max-size:500}") int maxSize,
+            @Value("${app.response-cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${app.response-cache.listing-pages:3}") int cachedListingPages,
+            @Value("${app.response-cache.gzip-level:6}") int gzipLevel) {
+        this.responses = new LruTtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+        this.cachedListingPages = cachedListingPages;
+        this.gzipLevel = gzipLevel;
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        responses.invalidateAll();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        responses.invalidateAll();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductCardsRebuilt(ProductCardsRebuiltEvent event) {
+        responses.invalidateAll();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        if (path.equals(CATEGORY_PATH) || CATEGORY_BY_SPOTLIGHT.matcher(path).matches()
+                || PRODUCT_DETAIL.matcher(path).matches()) {
+            return false;
+        }
+        // Listing'ning faqat birinchi sahifalari - chuqur sahifalar kam so'raladi
+        return !(path.equals(PRODUCT_PATH) && isFirstPage(request.getParameter("page")));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String key = request.getQueryString() == null
+                ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString();
+
+        CachedResponse cached = responses.get(key);
+        if (cached != null) {
+            write(cached, request, response);
+            return;
+        }
+
+        long generation = responses.generation();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        byte[] body = wrapper.getContentAsByteArray();
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || body.length == 0
+                || !isJson(wrapper.getContentType()) || wrapper.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        cached = new CachedResponse(wrapper.getContentType(), etag(body), body, gzip(body));
+        responses.putIfUnchanged(key, cached, generation);
+        wrapper.resetBuffer();
+        write(cached, request, response);
+    }
+
+    private void write(CachedResponse cached, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        // Har safar qayta tekshirish - ETag bilan arzon 304
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (new ServletWebRequest(request, response).checkNotModified(cached.etag())) {
+            return;
+        }
+
+        byte[] payload = cached.body();
+        if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            payload = cached.gzipBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        response.setContentLength(payload.length);
+        response.getOutputStream().write(payload);
+    }
+
+    private boolean isFirstPage(String page) {
+        if (page == null || page.isBlank()) {
+            return true;
+        }
+        try {
+            int pageNumber = Integer.parseInt(page.strip());
+            return pageNumber >= 0 && pageNumber < cachedListingPages;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private boolean isJson(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            return MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String encoding : acceptEncoding.split(",")) {
+            String[] parts = encoding.strip().split(";");
+            if (parts[0].strip().equalsIgnoreCase(GZIP)) {
+                // gzip;q=0 - client rad etgan
+                return parts.length < 2 || !parts[1].strip().replace(" ", "").equals("q=0");
+            }
+        }
+        return false;
+    }
+
+    private String etag(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(gzipLevel);
+            }
+        }) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
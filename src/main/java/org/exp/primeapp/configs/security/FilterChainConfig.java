@@ -101,6 +101,12 @@ public class FilterChainConfig {
                                 "/api/v1/category/*"
                         ).permitAll()
 
+                        // Public product multi-get endpoint
+                        .requestMatchers(
+                                HttpMethod.GET,
+                                "/api/v1/products"
+                        ).permitAll()
+
                         // Public cart endpoint
                         .requestMatchers(
                                 HttpMethod.POST,
@@ -258,6 +264,7 @@ public class FilterChainConfig {
                                 "X-Real-IP",
                                 "Accept-Language",
                                 "Cache-Control",
+                                "If-None-Match",
                                 "Pragma",
                                 "Cookie",
                                 "Set-Cookie"));
@@ -277,6 +284,9 @@ public class FilterChainConfig {
                                 "Content-Type",
                                 "Access-Control-Allow-Origin",
                                 "Access-Control-Allow-Credentials",
+                                "ETag",
+                                "X-Cart-Total",
+                                "X-Price-Quote",
                                 "Set-Cookie"));
 
                 UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -1,5 +1,6 @@
 package org.exp.primeapp.configs.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -60,8 +61,9 @@ public class JwtCookieFilter extends OncePerRequestFilter {
 
         if (token != null) {
             try {
-                if (jwtService.validateToken(token, request)) {
-                    User user = jwtService.getUserObject(token);
+                Claims claims = jwtService.verifyToken(token, request);
+                if (claims != null) {
+                    User user = jwtService.getUserObject(claims);
                     if (user != null && user.getId() != null) {
                         var auth = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
                         SecurityContextHolder.getContext().setAuthentication(auth);
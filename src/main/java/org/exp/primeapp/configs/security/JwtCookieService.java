@@ -2,9 +2,11 @@ package org.exp.primeapp.configs.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -29,6 +31,7 @@ import java.util.stream.Collectors;
 public class JwtCookieService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
     private final IpAddressUtil ipAddressUtil;
     private final UserUtil userUtil;
 
@@ -65,8 +68,37 @@ public class JwtCookieService {
     @Value("${jwt.access.token.expiry.days:7}")
     private Integer accessTokenExpiryDays;
 
+    // Key va parser bir marta quriladi - thread-safe, har so'rovda qayta yaratilmaydi
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void initSigningKey() {
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
     public SecretKey getSecretKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+        return signingKey;
+    }
+
+    /**
+     * Token'ni bir marta parse va verify qiladi.
+     *
+     * @return Claims yoki token yaroqsiz bo'lsa null
+     */
+    public Claims parseClaims(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            return jwtParser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("Token validation failed: {}", e.getMessage());
+            return null;
+        }
     }
 
     @Transactional
@@ -107,51 +139,44 @@ public class JwtCookieService {
     }
 
     public Boolean validateToken(String token, HttpServletRequest request) {
-        if (token == null || token.isBlank()) {
-            return false;
-        }
+        return verifyToken(token, request) != null;
+    }
 
-        try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(getSecretKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-
-            // Get IP from token
-            String tokenIp = claims.get("ip", String.class);
-            if (tokenIp == null) {
-                log.warn("Token does not contain IP");
-                // return false; // Strict IP check might cause issues if user IP changes, but
-                // user asked for IP update on login. Let's keep it lenient or strict? User said
-                // "update on success".
-                // For security, usually we validate IP if we bound it.
-            }
+    /**
+     * Token'ni tekshiradi va Claims'ni qaytaradi - filter uchun bitta parse yo'li
+     */
+    public Claims verifyToken(String token, HttpServletRequest request) {
+        Claims claims = parseClaims(token);
+        if (claims == null) {
+            return null;
+        }
 
-            // Get request IP
-            String requestIp = ipAddressUtil.getClientIpAddress(request);
+        // Get IP from token
+        String tokenIp = claims.get("ip", String.class);
+        if (tokenIp == null) {
+            log.warn("Token does not contain IP");
+            // Strict IP check disabled - user IP login'da yangilanadi
+        }
 
-            // Compare IPs if token has ip
-            if (tokenIp != null && !tokenIp.equals(requestIp)) {
-                log.warn("IP mismatch: token IP = {}, request IP = {}", tokenIp, requestIp);
-                // return false; // Strict IP check disabled for stability
-            }
+        // Get request IP
+        String requestIp = ipAddressUtil.getClientIpAddress(request);
 
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            log.warn("Token validation failed: {}", e.getMessage());
-            return false;
+        // Compare IPs if token has ip
+        if (tokenIp != null && !tokenIp.equals(requestIp)) {
+            log.warn("IP mismatch: token IP = {}, request IP = {}", tokenIp, requestIp);
+            // return null; // Strict IP check disabled for stability
         }
+
+        return claims;
     }
 
     public User getUserObject(String token) {
-        try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(getSecretKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+        Claims claims = parseClaims(token);
+        return claims != null ? getUserObject(claims) : null;
+    }
 
+    public User getUserObject(Claims claims) {
+        try {
             // Get user claims from token
             @SuppressWarnings("unchecked")
             Map<String, Object> userClaims = (Map<String, Object>) claims.get("user");
@@ -166,8 +191,8 @@ public class JwtCookieService {
             }
             Long userId = ((Number) idObj).longValue();
 
-            // Get user from database to ensure we have the latest data
-            User user = userRepository.findById(userId).orElse(null);
+            // User qisqa muddat cache'lanadi, status/rol o'zgarsa UserChangedEvent bilan tozalanadi
+            User user = principalCache.get(userId, () -> userRepository.findById(userId).orElse(null));
             if (user == null) {
                 log.warn("User not found for token, userId: {}", userId);
                 return null;
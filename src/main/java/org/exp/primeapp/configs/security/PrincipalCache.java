@@ -0,0 +1,51 @@
+package org.exp.primeapp.configs.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.exp.primeapp.configs.cache.LruTtlCache;
+import org.exp.primeapp.models.entities.User;
+import org.exp.primeapp.models.events.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Autentifikatsiya qilingan User'lar uchun qisqa TTL'li cache (key - user id).
+ * Har bir so'rovda userRepository.findById chaqirilmasligi uchun.
+ * Entity emas, o'zgarmas PrincipalSnapshot saqlanadi - har bir so'rov yangi User nusxasini oladi.
+ * Status/rol/profil yoki login'da UserChangedEvent orqali darhol tozalanadi.
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    private final LruTtlCache<Long, PrincipalSnapshot> principals;
+
+    public PrincipalCache(
+            @Value("${app.cache.principals.max-size:1000}") int maxSize,
+            @Value("${app.cache.principals.ttl-seconds:60}") long ttlSeconds) {
+        this.principals = new LruTtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    public User get(Long userId, Supplier<User> loader) {
+        PrincipalSnapshot snapshot = principals.getOrLoad(userId, () -> {
+            User user = loader.get();
+            return user != null ? PrincipalSnapshot.of(user) : null;
+        });
+        return snapshot != null ? snapshot.toUser() : null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.userId() != null) {
+            principals.invalidate(event.userId());
+        }
+        if (event.telegramId() != null) {
+            principals.invalidateValuesIf(snapshot -> Objects.equals(snapshot.telegramId(), event.telegramId()));
+        }
+        log.debug("Principal cache invalidated - userId: {}, telegramId: {}", event.userId(), event.telegramId());
+    }
+}
@@ -0,0 +1,60 @@
+package org.exp.primeapp.configs.security;
+
+import org.exp.primeapp.models.entities.Role;
+import org.exp.primeapp.models.entities.User;
+import org.exp.primeapp.models.enums.AccountStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PrincipalCache'da saqlanadigan o'zgarmas nusxa: principal sifatida o'qiladigan maydonlar va rollar.
+ * Entity o'zi cache'lanmaydi - har bir so'rov toUser() orqali o'zining alohida User obyektini oladi,
+ * shuning uchun bir so'rovdagi o'zgarish boshqa thread'larga o'tmaydi.
+ * verifyCode, messageId, ip kabi login/bot maydonlari bu yerda yo'q.
+ */
+public record PrincipalSnapshot(
+        Long id,
+        Long telegramId,
+        String firstName,
+        String lastName,
+        String tgUsername,
+        String phone,
+        AccountStatus status,
+        LocalDateTime createdAt,
+        List<RoleSnapshot> roles
+) {
+
+    public record RoleSnapshot(Long id, String name) {
+    }
+
+    public static PrincipalSnapshot of(User user) {
+        List<RoleSnapshot> roles = user.getRoles() == null ? List.of()
+                : user.getRoles().stream().map(role -> new RoleSnapshot(role.getId(), role.getName())).toList();
+        return new PrincipalSnapshot(user.getId(), user.getTelegramId(), user.getFirstName(), user.getLastName(),
+                user.getTgUsername(), user.getPhone(), user.getStatus(), user.getCreatedAt(), roles);
+    }
+
+    public User toUser() {
+        List<Role> userRoles = new ArrayList<>(roles.size());
+        for (RoleSnapshot role : roles) {
+            Role copy = new Role(role.name());
+            copy.setId(role.id());
+            userRoles.add(copy);
+        }
+        User user = User.builder()
+                .telegramId(telegramId)
+                .firstName(firstName)
+                .lastName(lastName)
+                .tgUsername(tgUsername)
+                .phone(phone)
+                .status(status)
+                .roles(userRoles)
+                .build();
+        user.setId(id);
+        // Admin /me javobida kerak
+        user.setCreatedAt(createdAt);
+        return user;
+    }
+}
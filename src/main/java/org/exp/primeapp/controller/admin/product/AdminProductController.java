@@ -72,4 +72,12 @@ public class AdminProductController {
         AdminProductRes adminProductRes = adminProductService.toggleProductUpdate(productId);
         return new ResponseEntity<>(adminProductRes, HttpStatus.ACCEPTED);
     }
+
+    @Operation(security = @SecurityRequirement(name = "Authorization"))
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'SUPER_ADMIN')")
+    @PostMapping("/cards/rebuild")
+    public ResponseEntity<Void> rebuildProductCards() {
+        adminProductService.rebuildProductCards();
+        return ResponseEntity.ok().build();
+    }
 }
\ No newline at end of file
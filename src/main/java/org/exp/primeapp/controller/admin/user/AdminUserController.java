@@ -1,11 +1,13 @@
 package org.exp.primeapp.controller.admin.user;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
 import org.exp.primeapp.models.dto.responce.admin.AdminUserDashboardRes;
 import org.exp.primeapp.models.dto.responce.admin.AdminUserDetailRes;
 import org.exp.primeapp.models.dto.responce.user.page.PageRes;
+import org.exp.primeapp.models.enums.PageCountMode;
 import org.exp.primeapp.service.face.user.UserService;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -40,9 +42,12 @@ public class AdminUserController {
             Pageable pageable,
             @RequestParam(required = false) Boolean active,
             @RequestParam(required = false) String phone,
-            @RequestParam(required = false) String firstName
+            @RequestParam(required = false) String firstName,
+            @Parameter(description = "Umumiy son: exact, none (COUNT'siz) yoki approximate")
+            @RequestParam(defaultValue = "exact") String count
     ) {
-        PageRes<AdminUserDetailRes> users = userService.getAdminUsersWithFilter(pageable, active, phone, firstName);
+        PageRes<AdminUserDetailRes> users = userService.getAdminUsersWithFilter(pageable, active, phone, firstName,
+                PageCountMode.fromValue(count));
         return new ResponseEntity<>(users, HttpStatus.OK);
     }
 
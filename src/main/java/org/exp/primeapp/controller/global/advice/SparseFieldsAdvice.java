@@ -0,0 +1,129 @@
+package org.exp.primeapp.controller.global.advice;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.exp.primeapp.controller.user.cart.CartController;
+import org.exp.primeapp.controller.user.order.OrderController;
+import org.exp.primeapp.controller.user.product.ProductBatchController;
+import org.exp.primeapp.controller.user.product.ProductController;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sparse fieldsets: ?fields=name,price,sizes.size - javobda faqat tanlangan maydonlar qoladi.
+ * Ro'yxat va sahifa (content) javoblarida tanlov har bir elementga qo'llanadi, "id" doim qoladi.
+ * Service va cache'lar to'liq DTO bilan ishlaydi - kesish faqat serialization chegarasida.
+ */
+@RestControllerAdvice(assignableTypes = {
+        ProductController.class,
+        ProductBatchController.class,
+        CartController.class,
+        OrderController.class
+})
+@RequiredArgsConstructor
+public class SparseFieldsAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String FIELDS_PARAM = "fields";
+    private static final String ID_FIELD = "id";
+    private static final String PAGE_CONTENT_FIELD = "content";
+    private static final int MAX_FIELDS = 50;
+
+    /**
+     * Tanlangan maydonlar daraxti: all = maydon butunligicha, aks holda faqat children
+     */
+    private static final class Selection {
+        private final Map<String, Selection> children = new LinkedHashMap<>();
+        private boolean all;
+    }
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        String fields = servletRequest.getServletRequest().getParameter(FIELDS_PARAM);
+        if (fields == null || fields.isBlank()) {
+            return body;
+        }
+        // Xatolik javoblari o'zgarmaydi
+        if (response instanceof ServletServerHttpResponse servletResponse
+                && servletResponse.getServletResponse().getStatus() >= 400) {
+            return body;
+        }
+
+        Selection selection = parse(fields);
+        JsonNode tree = objectMapper.valueToTree(body);
+        if (tree.isObject() && tree.get(PAGE_CONTENT_FIELD) instanceof ArrayNode content) {
+            ((ObjectNode) tree).set(PAGE_CONTENT_FIELD, select(content, selection));
+            return tree;
+        }
+        return select(tree, selection);
+    }
+
+    private Selection parse(String fields) {
+        Selection root = new Selection();
+        String[] paths = fields.split(",");
+        if (paths.length > MAX_FIELDS) {
+            throw new IllegalArgumentException("Too many fields, max " + MAX_FIELDS);
+        }
+        for (String path : paths) {
+            if (path.isBlank()) {
+                continue;
+            }
+            Selection current = root;
+            for (String name : path.strip().split("\\.")) {
+                current = current.children.computeIfAbsent(name, key -> new Selection());
+            }
+            current.all = true;
+        }
+        return root;
+    }
+
+    private JsonNode select(JsonNode node, Selection selection) {
+        if (node.isArray()) {
+            ArrayNode result = objectMapper.createArrayNode();
+            node.forEach(element -> result.add(select(element, selection)));
+            return result;
+        }
+        if (!node.isObject()) {
+            return node;
+        }
+
+        ObjectNode result = objectMapper.createObjectNode();
+        if (node.has(ID_FIELD)) {
+            result.set(ID_FIELD, node.get(ID_FIELD));
+        }
+        for (Map.Entry<String, Selection> entry : selection.children.entrySet()) {
+            JsonNode value = node.get(entry.getKey());
+            if (value == null) {
+                continue;
+            }
+            // "sizes" va "sizes.size" birga bo'lsa butun maydon qoladi
+            result.set(entry.getKey(), entry.getValue().all ? value : select(value, entry.getValue()));
+        }
+        return result;
+    }
+}
@@ -7,7 +7,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.exp.primeapp.service.face.global.attachment.AttachmentService;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
@@ -28,15 +27,15 @@ public class AttachmentController {
      */
     @Operation(summary = "Get attachment by URL")
     @GetMapping("/{url}")
-    public ResponseEntity<?> getAttachment(
+    public void getAttachment(
             @PathVariable String url,
             HttpServletRequest request,
             HttpServletResponse response) {
 
         try {
             // log.debug("Fetching attachment with URL: {}", url); // Maybe too noisy?
+            // Status (200/206/304/404) va body'ni service o'zi yozadi
             attachmentService.get(url, request, response);
-            return ResponseEntity.ok().build();
         } catch (IOException e) {
             log.error("Failed to fetch attachment with URL: {}", url, e);
             throw new RuntimeException("Failed to fetch attachment: " + e.getMessage(), e);
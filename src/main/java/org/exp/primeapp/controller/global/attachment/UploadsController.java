@@ -4,20 +4,21 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.exp.primeapp.utils.FileDeliveryUtil;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 public class UploadsController {
 
+    private final FileDeliveryUtil fileDeliveryUtil;
+
     @Value("${app.attachment.folder.path:uploads}")
     private String attachmentFolderPath;
 
@@ -26,7 +27,7 @@ public class UploadsController {
      * Database'ga so'rov yubormasdan, faqat folder'dan file'ni serve qiladi
      */
     @GetMapping("/uploads/**")
-    public ResponseEntity<?> getAttachmentByPath(
+    public void getAttachmentByPath(
             HttpServletRequest request,
             HttpServletResponse response) {
 
@@ -35,13 +36,13 @@ public class UploadsController {
             String path = request.getRequestURI();
             String filename = path.substring(path.lastIndexOf("/uploads/") + "/uploads/".length());
 
-            // File path'ni yaratish
-            Path filePath = Paths.get(attachmentFolderPath, filename);
+            // File path'ni yaratish (folder tashqarisiga chiqmasligi tekshiriladi)
+            Path filePath = fileDeliveryUtil.resolveInside(attachmentFolderPath, filename);
 
             // File mavjudligini tekshirish
-            if (!Files.exists(filePath) || !Files.isRegularFile(filePath)) {
+            if (filePath == null || !Files.isRegularFile(filePath)) {
                 response.setStatus(HttpServletResponse.SC_NOT_FOUND);
-                return ResponseEntity.notFound().build();
+                return;
             }
 
             // Content type'ni aniqlash
@@ -50,17 +51,10 @@ public class UploadsController {
                 contentType = "image/jpeg"; // Default
             }
 
-            // File'ni o'qib, response'ga yozish
-            byte[] fileContent = Files.readAllBytes(filePath);
-
-            response.setContentType(contentType);
-            response.setHeader("Content-Disposition", "inline; filename=\"" + filename + "\"");
-            response.setContentLength(fileContent.length);
-            response.getOutputStream().write(fileContent);
-            response.getOutputStream().flush();
+            // Heap'ga o'qimasdan stream qilish (Range, ETag, 304, Cache-Control)
+            fileDeliveryUtil.serve(filePath, contentType, filePath.getFileName().toString(), request, response);
 
-            log.info("Successfully served attachment by path: {}", path);
-            return ResponseEntity.ok().build();
+            log.debug("Served attachment by path: {}", path);
         } catch (IOException e) {
             log.error("Failed to fetch attachment by path: {}", request.getRequestURI(), e);
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
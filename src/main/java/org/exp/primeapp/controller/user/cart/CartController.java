@@ -10,6 +10,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.exp.primeapp.models.dto.request.CartItemReq;
+import org.exp.primeapp.models.dto.responce.user.CartPriceRes;
 import org.exp.primeapp.models.dto.responce.user.ProductCartRes;
 import org.exp.primeapp.service.face.user.ProductService;
 import org.springframework.http.ResponseEntity;
@@ -25,6 +26,9 @@ import static org.exp.primeapp.utils.Const.*;
 @RequiredArgsConstructor
 public class CartController {
 
+        static final String CART_TOTAL_HEADER = "X-Cart-Total";
+        static final String PRICE_QUOTE_HEADER = "X-Price-Quote";
+
         private final ProductService productService;
 
         @PostMapping
@@ -37,8 +41,15 @@ public class CartController {
         public ResponseEntity<List<ProductCartRes>> getCartProducts(
                         @RequestBody @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "List of cart items with productId, productSize, and productQuantity", required = true, content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = CartItemReq.class)))) List<CartItemReq> cartItems) {
 
-                List<ProductCartRes> cartProducts = productService.getCartProducts(cartItems);
-                return ResponseEntity.ok(cartProducts);
+                // Savat summasi qatorlar bilan bir o'tishda hisoblanadi - body shakli o'zgarmaydi
+                CartPriceRes cartPrice = productService.priceCart(cartItems);
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                                .header(CART_TOTAL_HEADER, cartPrice.totalPrice().toPlainString());
+                if (cartPrice.quoteToken() != null) {
+                        // Client buni CreateOrderReq.quoteToken sifatida qaytaradi
+                        response.header(PRICE_QUOTE_HEADER, cartPrice.quoteToken());
+                }
+                return response.body(cartPrice.items());
         }
 
         @GetMapping("/order")
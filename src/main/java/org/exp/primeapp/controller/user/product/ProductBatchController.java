@@ -0,0 +1,32 @@
+package org.exp.primeapp.controller.user.product;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import lombok.RequiredArgsConstructor;
+import org.exp.primeapp.models.dto.responce.user.ProductRes;
+import org.exp.primeapp.service.face.user.ProductService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static org.exp.primeapp.utils.Const.*;
+
+@RestController
+@RequestMapping(API + V1 + PRODUCTS)
+@RequiredArgsConstructor
+public class ProductBatchController {
+
+    private final ProductService productService;
+
+    // Wishlist, oxirgi ko'rilganlar, qayta buyurtma - bitta so'rovda
+    @GetMapping
+    public ResponseEntity<List<ProductRes>> getProducts(
+            @Parameter(description = "Product id'lari (vergul bilan, ko'pi bilan 200 ta)", example = "12,5,40")
+            @RequestParam List<Long> ids) {
+        List<ProductRes> products = productService.getProductsByIds(ids);
+        return ResponseEntity.ok(products);
+    }
+}
@@ -4,15 +4,21 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.exp.primeapp.models.dto.responce.user.ProductFacetsRes;
 import org.exp.primeapp.models.dto.responce.user.ProductPageRes;
 import org.exp.primeapp.models.dto.responce.user.ProductRes;
+import org.exp.primeapp.models.dto.responce.user.SuggestionRes;
+import org.exp.primeapp.models.dto.responce.user.page.CursorPageRes;
 import org.exp.primeapp.models.dto.responce.user.page.PageRes;
+import org.exp.primeapp.models.enums.PageCountMode;
 import org.exp.primeapp.service.face.user.ProductService;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 import static org.exp.primeapp.utils.Const.*;
 
 @Slf4j
@@ -23,6 +29,83 @@ public class ProductController {
 
         private final ProductService productService;
 
+        /**
+         * Yozish davomida takliflar (mahsulot nomi, brand, category) - xotiradagi index'dan, DB'ga tushmaydi
+         */
+        @GetMapping("/autocomplete")
+        public ResponseEntity<List<SuggestionRes>> getSuggestions(
+                        @Parameter(description = "Foydalanuvchi yozgan matn", example = "nik") @RequestParam String prefix,
+                        @RequestParam(defaultValue = "10") int limit) {
+                return ResponseEntity.ok(productService.getSuggestions(prefix, limit));
+        }
+
+        /**
+         * Nom, brand, tavsif, rang va category bo'yicha qidiruv (relevance tartibida, xatolarga chidamli).
+         * Keyingi sahifa oldingi javobdagi nextCursor bilan so'raladi.
+         */
+        @GetMapping("/search")
+        public ResponseEntity<CursorPageRes<ProductPageRes>> searchProducts(
+                        @Parameter(description = "Qidiruv matni", example = "nike krossovka") @RequestParam String query,
+                        @RequestParam(required = false) String spotlightName,
+                        @RequestParam(required = false) String categoryName,
+                        @RequestParam(required = false) String colorName,
+                        @RequestParam(required = false) String sizeName,
+                        @RequestParam(required = false) String brandName,
+                        @Parameter(description = "Product tag filter", schema = @Schema(type = "string", allowableValues = {
+                                        "NEW", "HOT",
+                                        "SALE" }, example = "SALE")) @RequestParam(required = false) String tag,
+                        @Parameter(description = "Oldingi javobdagi nextCursor") @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "10") int size) {
+
+                CursorPageRes<ProductPageRes> products = productService.searchProducts(
+                                query, spotlightName, categoryName, colorName, sizeName, brandName, tag, cursor, size);
+                return ResponseEntity.ok(products);
+        }
+
+        /**
+         * Filter panel uchun har bir qiymatdagi mahsulotlar soni - listing bilan bir xil filterlar qabul qilinadi
+         */
+        @GetMapping("/facets")
+        public ResponseEntity<ProductFacetsRes> getProductFacets(
+                        @RequestParam(required = false) String spotlightName,
+                        @RequestParam(required = false) String categoryName,
+                        @RequestParam(required = false) String colorName,
+                        @RequestParam(required = false) String sizeName,
+                        @RequestParam(required = false) String brandName,
+                        @Parameter(description = "Product tag filter", schema = @Schema(type = "string", allowableValues = {
+                                        "NEW", "HOT",
+                                        "SALE" }, example = "SALE")) @RequestParam(required = false) String tag) {
+
+                ProductFacetsRes facets = productService.getProductFacets(
+                                spotlightName, categoryName, colorName, sizeName, brandName, tag);
+                return ResponseEntity.ok(facets);
+        }
+
+        /**
+         * Infinite scroll uchun cursor-based listing - COUNT(*) va OFFSET yo'q.
+         * Birinchi sahifa cursor'siz, keyingilari oldingi javobdagi nextCursor bilan so'raladi.
+         */
+        @GetMapping("/scroll")
+        public ResponseEntity<CursorPageRes<ProductPageRes>> getProductsByCursor(
+                        @RequestParam(required = false) String spotlightName,
+                        @RequestParam(required = false) String categoryName,
+                        @RequestParam(required = false) String colorName,
+                        @RequestParam(required = false) String sizeName,
+                        @RequestParam(required = false) String brandName,
+                        @Parameter(description = "Product tag filter", schema = @Schema(type = "string", allowableValues = {
+                                        "NEW", "HOT",
+                                        "SALE" }, example = "SALE")) @RequestParam(required = false) String tag,
+                        @Parameter(description = "Sort by option", schema = @Schema(type = "string", allowableValues = {
+                                        "discount", "low-price",
+                                        "high-price" }, example = "low-price")) @RequestParam(required = false) String sortBy,
+                        @Parameter(description = "Oldingi javobdagi nextCursor") @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "10") int size) {
+
+                CursorPageRes<ProductPageRes> products = productService.getActiveProductsByCursor(
+                                spotlightName, categoryName, colorName, sizeName, brandName, tag, sortBy, cursor, size);
+                return ResponseEntity.ok(products);
+        }
+
         @GetMapping("/{productId}")
         public ResponseEntity<ProductRes> getProduct(@PathVariable Long productId) {
                 ProductRes product = productService.getProductById(productId);
@@ -42,12 +125,16 @@ public class ProductController {
                         @Parameter(description = "Sort by option", schema = @Schema(type = "string", allowableValues = {
                                         "discount", "low-price",
                                         "high-price" }, example = "low-price")) @RequestParam(required = false) String sortBy,
+                        @Parameter(description = "Umumiy son: exact - aniq, none - COUNT'siz (totalElements = -1), "
+                                        + "approximate - taxminiy", schema = @Schema(type = "string", allowableValues = {
+                                        "exact", "none", "approximate" }, example = "none")) @RequestParam(defaultValue = "exact") String count,
                         @RequestParam(defaultValue = "0") int page,
                         @RequestParam(defaultValue = "10") int size) {
 
                 Pageable pageable = PageRequest.of(page, size);
                 PageRes<ProductPageRes> pageableProducts = productService.getActiveProducts(
-                                spotlightName, categoryName, colorName, sizeName, brandName, tag, sortBy, pageable);
+                                spotlightName, categoryName, colorName, sizeName, brandName, tag, sortBy,
+                                PageCountMode.fromValue(count), pageable);
                 return ResponseEntity.ok(pageableProducts);
         }
 }
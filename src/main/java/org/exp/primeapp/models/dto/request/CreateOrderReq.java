@@ -9,5 +9,7 @@ import java.util.List;
 public record CreateOrderReq(
         CustomerReq customer,
         OrderDeliveryType delivery,
-        List<CreateOrderItemReq> items
+        List<CreateOrderItemReq> items,
+        // Savat javobidagi X-Price-Quote; bo'lmasa yoki eskirgan bo'lsa narx qayta hisoblanadi
+        String quoteToken
 ) {}
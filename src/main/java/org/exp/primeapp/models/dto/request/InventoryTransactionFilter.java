@@ -0,0 +1,25 @@
+package org.exp.primeapp.models.dto.request;
+
+import lombok.Builder;
+import org.exp.primeapp.models.enums.TransactionReason;
+import org.exp.primeapp.models.enums.TransactionType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Inventory transaction filterlari - null qiymatlar e'tiborsiz qoldiriladi
+ */
+@Builder
+public record InventoryTransactionFilter(
+        TransactionType type,
+        TransactionReason reason,
+        Long productId,
+        Long categoryId,
+        Long customerId,
+        String productSize,
+        String productTag,
+        Long performedById,
+        LocalDateTime startDate,
+        LocalDateTime endDate
+) {
+}
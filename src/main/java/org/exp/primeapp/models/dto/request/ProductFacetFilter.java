@@ -0,0 +1,17 @@
+package org.exp.primeapp.models.dto.request;
+
+import lombok.Builder;
+
+/**
+ * Storefront listing filterlari (facet hisoblash va cache key uchun) - null qiymatlar e'tiborsiz qoldiriladi
+ */
+@Builder
+public record ProductFacetFilter(
+        String spotlightName,
+        String categoryName,
+        String colorName,
+        String sizeName,
+        String brandName,
+        String tag
+) {
+}
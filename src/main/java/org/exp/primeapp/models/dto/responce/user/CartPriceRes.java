@@ -0,0 +1,19 @@
+package org.exp.primeapp.models.dto.responce.user;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Savatning narxlangan qatorlari va umumiy summa. allAvailable - barcha qatorlar uchun omborda yetarli.
+ * quoteToken - checkout'ga beriladigan imzolangan narx kafolati, narxlanadigan qator bo'lmasa null
+ */
+@Builder
+public record CartPriceRes(
+        List<ProductCartRes> items,
+        BigDecimal totalPrice,
+        boolean allAvailable,
+        String quoteToken
+) {
+}
@@ -0,0 +1,20 @@
+package org.exp.primeapp.models.dto.responce.user;
+
+import lombok.Builder;
+
+import java.util.Map;
+
+/**
+ * Har bir filter qiymati uchun mahsulotlar soni - o'sha dimension'dan tashqari boshqa faol filterlar hisobga olingan.
+ * 0 - bu qiymat tanlansa natija bo'sh bo'ladi.
+ */
+@Builder
+public record ProductFacetsRes(
+        long totalCount,
+        Map<String, Long> categories,
+        Map<String, Long> colors,
+        Map<String, Long> sizes,
+        Map<String, Long> brands,
+        Map<String, Long> tags
+) {
+}
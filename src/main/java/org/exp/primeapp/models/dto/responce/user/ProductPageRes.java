@@ -14,6 +14,8 @@ public record ProductPageRes(
         BigDecimal price,
         BigDecimal discountPrice,
         Integer discount,
-        String mainImage
+        String mainImage,
+        // Listing uchun kichik (card) variant, hali tayyor bo'lmasa mainImage bilan bir xil
+        String mainImageSmall
 ) {}
 
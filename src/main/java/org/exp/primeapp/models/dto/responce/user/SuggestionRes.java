@@ -0,0 +1,15 @@
+package org.exp.primeapp.models.dto.responce.user;
+
+import lombok.Builder;
+import org.exp.primeapp.models.enums.SuggestionType;
+
+/**
+ * Autocomplete taklifi. id - PRODUCT uchun product id, CATEGORY uchun category id, BRAND uchun null
+ */
+@Builder
+public record SuggestionRes(
+        String text,
+        SuggestionType type,
+        Long id
+) {
+}
@@ -0,0 +1,18 @@
+package org.exp.primeapp.models.dto.responce.user.page;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Keyset (cursor) pagination natijasi - COUNT(*) so'rovisiz.
+ * Keyingi sahifa uchun nextCursor yuboriladi, oxirgi sahifada null.
+ */
+@Builder
+public record CursorPageRes<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean hasNext
+) {
+}
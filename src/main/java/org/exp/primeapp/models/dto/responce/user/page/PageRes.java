@@ -1,9 +1,14 @@
 package org.exp.primeapp.models.dto.responce.user.page;
 
 import lombok.Builder;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
+/**
+ * count=none bo'lsa totalElements va totalPages = -1 (oxirgi sahifadan tashqari), count=approximate bo'lsa taxminiy.
+ * Keyingi sahifa borligini har doim last bildiradi.
+ */
 @Builder
 public record PageRes<T> (
         List<T> content,
@@ -13,4 +18,31 @@ public record PageRes<T> (
         int totalPages,
         boolean last
 ) {
+
+    /**
+     * COUNT'siz sahifa. approximateTotal < 0 bo'lsa totalElements/totalPages = -1.
+     * Oxirgi sahifada son aniq ma'lum bo'ladi, taxminiy son esa ko'rilgan elementlardan kam bo'lmaydi.
+     */
+    public static <T> PageRes<T> ofSlice(Slice<?> slice, List<T> content, long approximateTotal) {
+        long seen = (long) slice.getNumber() * slice.getSize() + slice.getNumberOfElements();
+        long totalElements;
+        if (!slice.hasNext() && (slice.hasContent() || slice.isFirst())) {
+            totalElements = seen;
+        } else if (approximateTotal >= 0) {
+            totalElements = Math.max(approximateTotal, slice.hasNext() ? seen + 1 : seen);
+        } else {
+            totalElements = -1;
+        }
+        int totalPages = totalElements < 0 || slice.getSize() == 0
+                ? -1
+                : (int) Math.ceil((double) totalElements / slice.getSize());
+        return PageRes.<T>builder()
+                .content(content)
+                .page(slice.getNumber())
+                .size(slice.getSize())
+                .totalElements(totalElements)
+                .totalPages(totalPages)
+                .last(!slice.hasNext())
+                .build();
+    }
 }
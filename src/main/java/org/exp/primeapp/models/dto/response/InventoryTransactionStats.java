@@ -0,0 +1,18 @@
+package org.exp.primeapp.models.dto.response;
+
+import lombok.Builder;
+
+import java.util.Map;
+
+/**
+ * Filterlangan inventory transaction'lar bo'yicha SQL tomonda hisoblangan statistika
+ */
+@Builder
+public record InventoryTransactionStats(
+        long totalCount,
+        long inCount,
+        long outCount,
+        long returningCount,
+        Map<String, Long> productTagCounts
+) {
+}
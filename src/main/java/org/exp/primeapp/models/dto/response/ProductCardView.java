@@ -0,0 +1,22 @@
+package org.exp.primeapp.models.dto.response;
+
+import org.exp.primeapp.models.enums.ProductTag;
+
+import java.math.BigDecimal;
+
+/**
+ * Listing kartasi uchun projection: faqat kerakli ustunlar va birinchi rasm.
+ * Product entity (description, sizes) persistence context'ga yuklanmaydi.
+ */
+public record ProductCardView(
+        Long id,
+        String name,
+        String brand,
+        String colorHex,
+        ProductTag tag,
+        BigDecimal price,
+        Integer discountPercent,
+        String mainImageUrl,
+        String mainImageCardUrl
+) {
+}
@@ -45,6 +45,16 @@ public class Attachment extends BaseEntity {
     @Column(length = 50)
     private String fileExtension;
 
+    // Fon rejimida yaratiladigan kichik variant'lar - hali tayyor bo'lmasa null
+    @Column(name = "thumbnail_url", length = 500)
+    private String thumbnailUrl;
+
+    @Column(name = "card_url", length = 500)
+    private String cardUrl;
+
+    @Column(name = "detail_url", length = 500)
+    private String detailUrl;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id")
     private Product product;
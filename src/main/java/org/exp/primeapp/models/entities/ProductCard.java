@@ -0,0 +1,72 @@
+package org.exp.primeapp.models.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.exp.primeapp.models.enums.ProductTag;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Storefront uchun denormalized read model (product_cards) - faqat ON_SALE mahsulotlar.
+ * Faqat ProductCardRepository native SQL'i yozadi, JPA orqali o'zgartirilmaydi.
+ */
+@Getter
+@NoArgsConstructor
+@Immutable
+@Entity
+@Table(name = "product_cards")
+public class ProductCard {
+
+    // products.id bilan bir xil - sort property nomlari (id, price, discountPercent) Product bilan mos
+    @Id
+    @Column(name = "product_id")
+    private Long id;
+
+    private String name;
+
+    private String brand;
+
+    private String colorName;
+
+    private String colorHex;
+
+    @Enumerated(EnumType.STRING)
+    private ProductTag tag;
+
+    private BigDecimal price;
+
+    private Integer discountPercent;
+
+    private BigDecimal discountPrice;
+
+    private String mainImageUrl;
+
+    private String mainImageCardUrl;
+
+    // Vergul bilan ajratilgan Size nomlari
+    private String sizes;
+
+    // Bit = Size.ordinal() - enum tartibi o'zgarsa rebuild kerak
+    private Long sizeMask;
+
+    private Integer totalStock;
+
+    private Integer salesCount;
+
+    private Long categoryId;
+
+    private String categoryName;
+
+    private String spotlightName;
+
+    @Column(name = "refreshed_at")
+    private LocalDateTime refreshedAt;
+}
@@ -0,0 +1,26 @@
+package org.exp.primeapp.models.enums;
+
+/**
+ * Upload qilingan rasmdan yaratiladigan o'lchamlar (eng uzun tomoni bo'yicha, px)
+ */
+public enum ImageVariant {
+    THUMBNAIL("thumb", 160),
+    CARD("card", 480),
+    DETAIL("detail", 1200);
+
+    private final String suffix;
+    private final int maxDimension;
+
+    ImageVariant(String suffix, int maxDimension) {
+        this.suffix = suffix;
+        this.maxDimension = maxDimension;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+}
@@ -0,0 +1,25 @@
+package org.exp.primeapp.models.enums;
+
+/**
+ * Sahifalangan javobda umumiy son qanday hisoblanadi - client so'rov bo'yicha tanlaydi
+ */
+public enum PageCountMode {
+    // Aniq COUNT(*)
+    EXACT,
+    // COUNT yo'q: size + 1 ta o'qiladi, faqat keyingi sahifa borligi ma'lum (totalElements = -1)
+    NONE,
+    // Taxminiy son: pg_class statistikasi yoki TTL bilan cache qilingan filter soni
+    APPROXIMATE;
+
+    public static PageCountMode fromValue(String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+        for (PageCountMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value.strip())) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown count mode: " + value);
+    }
+}
@@ -0,0 +1,5 @@
+package org.exp.primeapp.models.enums;
+
+public enum SuggestionType {
+    PRODUCT, BRAND, CATEGORY
+}
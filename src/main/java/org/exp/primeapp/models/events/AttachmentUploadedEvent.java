@@ -0,0 +1,10 @@
+package org.exp.primeapp.models.events;
+
+/**
+ * Yangi rasm diskka saqlanib, Attachment yozilganda publish qilinadi (variant'lar generatsiyasi uchun)
+ */
+public record AttachmentUploadedEvent(
+        Long attachmentId,
+        String url
+) {
+}
@@ -0,0 +1,10 @@
+package org.exp.primeapp.models.events;
+
+/**
+ * Category yaratilganda, o'zgarganda yoki statusi almashganda publish qilinadi.
+ * categoryId null - bir vaqtda bir nechta category o'zgargan (masalan tartib)
+ */
+public record CategoryChangedEvent(
+        Long categoryId
+) {
+}
@@ -0,0 +1,13 @@
+package org.exp.primeapp.models.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bot orqali OTP kod xabari yuborilganda yoki yangilanganda publish qilinadi
+ */
+public record OtpIssuedEvent(
+        Long telegramId,
+        Integer messageId,
+        LocalDateTime expiresAt
+) {
+}
@@ -0,0 +1,8 @@
+package org.exp.primeapp.models.events;
+
+/**
+ * product_cards jadvali to'liq qayta yig'ilganda publish qilinadi (admin rebuild).
+ * Kartalardan o'qiydigan index'lar va cache'lar butunlay yangilanadi
+ */
+public record ProductCardsRebuiltEvent() {
+}
@@ -0,0 +1,14 @@
+package org.exp.primeapp.models.events;
+
+import java.util.Set;
+
+/**
+ * Product ma'lumotlari (narx, status, rasm, zaxira) o'zgarganda publish qilinadi
+ */
+public record ProductChangedEvent(
+        Set<Long> productIds
+) {
+    public static ProductChangedEvent of(Long productId) {
+        return new ProductChangedEvent(Set.of(productId));
+    }
+}
@@ -0,0 +1,18 @@
+package org.exp.primeapp.models.events;
+
+/**
+ * User status, rol yoki profil ma'lumotlari o'zgarganda publish qilinadi.
+ * Ba'zi update'lar faqat telegramId bo'yicha bo'ladi - shuning uchun ikkalasi ham ixtiyoriy.
+ */
+public record UserChangedEvent(
+        Long userId,
+        Long telegramId
+) {
+    public static UserChangedEvent ofUserId(Long userId) {
+        return new UserChangedEvent(userId, null);
+    }
+
+    public static UserChangedEvent ofTelegramId(Long telegramId) {
+        return new UserChangedEvent(null, telegramId);
+    }
+}
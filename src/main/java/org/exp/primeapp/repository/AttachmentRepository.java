@@ -1,12 +1,16 @@
 package org.exp.primeapp.repository;
 
+import jakarta.transaction.Transactional;
 import org.exp.primeapp.models.entities.Attachment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import java.util.Set;
 
@@ -19,6 +23,23 @@ public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
 
     List<Attachment> findByProductId(Long productId);
 
+    // Bir nechta product uchun [productId, url, cardUrl] - bitta IN (...) query
+    @Query("SELECT a.product.id, a.url, a.cardUrl FROM Attachment a WHERE a.product.id IN :productIds ORDER BY a.id ASC")
+    List<Object[]> findUrlsByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    @Query("SELECT a.product.id FROM Attachment a WHERE a.id = :attachmentId AND a.product IS NOT NULL")
+    Optional<Long> findProductIdById(@Param("attachmentId") Long attachmentId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Attachment a SET a.thumbnailUrl = :thumbnailUrl, a.cardUrl = :cardUrl, a.detailUrl = :detailUrl " +
+            "WHERE a.id = :attachmentId AND a.url = :url")
+    int updateVariantUrls(@Param("attachmentId") Long attachmentId,
+                          @Param("url") String url,
+                          @Param("thumbnailUrl") String thumbnailUrl,
+                          @Param("cardUrl") String cardUrl,
+                          @Param("detailUrl") String detailUrl);
+
     @Query("SELECT COUNT(a) FROM Attachment a")
     int countAll();
 
@@ -2,7 +2,12 @@ package org.exp.primeapp.repository;
 
 import org.exp.primeapp.models.dto.response.admin.InventoryTransactionActivityResponse;
 import org.exp.primeapp.models.entities.InventoryTransaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,7 +17,13 @@ import java.util.List;
 
 @Repository
 public interface InventoryTransactionRepository
-        extends JpaRepository<InventoryTransaction, Long>, InventoryTransactionRepositoryCustom {
+        extends JpaRepository<InventoryTransaction, Long>, JpaSpecificationExecutor<InventoryTransaction>,
+        InventoryTransactionRepositoryCustom {
+
+    // Response uchun kerakli to-one bog'lanishlar bitta select'da olinadi
+    @Override
+    @EntityGraph(attributePaths = { "customer", "client", "performedBy", "returnPerformedBy" })
+    Page<InventoryTransaction> findAll(Specification<InventoryTransaction> spec, Pageable pageable);
 
     /**
      * Find warehouse activities with flexible filtering using native SQL
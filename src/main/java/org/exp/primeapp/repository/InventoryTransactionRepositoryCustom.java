@@ -1,9 +1,14 @@
 package org.exp.primeapp.repository;
 
+import org.exp.primeapp.models.dto.request.InventoryTransactionFilter;
+import org.exp.primeapp.models.dto.response.InventoryTransactionStats;
 import org.exp.primeapp.models.entities.InventoryTransaction;
 
 public interface InventoryTransactionRepositoryCustom {
     InventoryTransaction saveWithActivation(InventoryTransaction productIncome);
-}
-
 
+    /**
+     * IN/OUT/RETURN va tag bo'yicha sonlar - bitta GROUPING SETS query bilan
+     */
+    InventoryTransactionStats aggregateStats(InventoryTransactionFilter filter);
+}
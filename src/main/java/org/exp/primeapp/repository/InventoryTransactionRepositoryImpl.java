@@ -1,15 +1,29 @@
 package org.exp.primeapp.repository;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.exp.primeapp.models.dto.request.InventoryTransactionFilter;
+import org.exp.primeapp.models.dto.response.InventoryTransactionStats;
 import org.exp.primeapp.models.entities.Category;
 import org.exp.primeapp.models.entities.InventoryTransaction;
 import org.exp.primeapp.models.entities.Product;
 import org.exp.primeapp.models.enums.CategoryStatus;
+import org.exp.primeapp.models.enums.TransactionReason;
+import org.exp.primeapp.models.enums.TransactionType;
+import org.exp.primeapp.models.events.CategoryChangedEvent;
+import org.exp.primeapp.models.events.ProductChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @Repository
 @RequiredArgsConstructor
@@ -18,6 +32,7 @@ public class InventoryTransactionRepositoryImpl implements InventoryTransactionR
     private final EntityManager entityManager;
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -44,6 +59,7 @@ public class InventoryTransactionRepositoryImpl implements InventoryTransactionR
             if (product.getStatus() != org.exp.primeapp.models.enums.ProductStatus.ON_SALE) {
                 product.setStatus(org.exp.primeapp.models.enums.ProductStatus.ON_SALE);
                 productRepository.save(product);
+                eventPublisher.publishEvent(ProductChangedEvent.of(product.getId()));
                 log.info("Product {} activated due to income", product.getId());
             }
 
@@ -52,10 +68,116 @@ public class InventoryTransactionRepositoryImpl implements InventoryTransactionR
             if (category != null && category.getStatus() != CategoryStatus.ACTIVE) {
                 category.setStatus(CategoryStatus.ACTIVE);
                 categoryRepository.save(category);
+                // Status o'zgardi - category cache'lari, javob cache'i va autocomplete yangilanadi
+                eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
                 log.info("Category {} activated due to product income", category.getId());
             }
         } catch (Exception e) {
             log.error("Error activating product and category for Warehouse {}", productIncome.getId(), e);
         }
     }
+
+    @Override
+    public InventoryTransactionStats aggregateStats(InventoryTransactionFilter filter) {
+        // Faqat berilgan filterlar WHERE'ga qo'shiladi - har biri index'li ustun bo'yicha
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
+
+        if (filter.type() != null) {
+            conditions.add("t.type = :type");
+            params.put("type", filter.type().name());
+        }
+        if (filter.reason() != null) {
+            conditions.add("t.reason = :reason");
+            params.put("reason", filter.reason().name());
+        }
+        if (filter.productId() != null) {
+            conditions.add("t.product_id = :productId");
+            params.put("productId", filter.productId());
+        }
+        if (filter.categoryId() != null) {
+            conditions.add("t.product_id IN (SELECT p.id FROM products p WHERE p.category_id = :categoryId)");
+            params.put("categoryId", filter.categoryId());
+        }
+        if (filter.customerId() != null) {
+            conditions.add("t.customer_id = :customerId");
+            params.put("customerId", filter.customerId());
+        }
+        if (filter.productSize() != null) {
+            conditions.add("t.product_size_name = :productSize");
+            params.put("productSize", filter.productSize());
+        }
+        if (filter.productTag() != null) {
+            conditions.add("t.product_tag_name = :productTag");
+            params.put("productTag", filter.productTag());
+        }
+        if (filter.performedById() != null) {
+            conditions.add("t.performed_admin_id = :performedById");
+            params.put("performedById", filter.performedById());
+        }
+        if (filter.startDate() != null) {
+            conditions.add("t.created_at >= :startDate");
+            params.put("startDate", filter.startDate());
+        }
+        if (filter.endDate() != null) {
+            conditions.add("t.created_at <= :endDate");
+            params.put("endDate", filter.endDate());
+        }
+
+        String sql = """
+                SELECT
+                    t.type,
+                    t.product_tag_name,
+                    GROUPING(t.type) AS type_grouping,
+                    GROUPING(t.product_tag_name) AS tag_grouping,
+                    COUNT(*) AS total,
+                    COUNT(*) FILTER (WHERE t.reason = :returnReason) AS returning
+                FROM inventory_transactions t
+                """
+                + (conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + "\n")
+                + "GROUP BY GROUPING SETS ((t.type), (t.product_tag_name), ())";
+
+        Query query = entityManager.createNativeQuery(sql);
+        query.setParameter("returnReason", TransactionReason.RETURN.name());
+        params.forEach(query::setParameter);
+
+        long totalCount = 0;
+        long inCount = 0;
+        long outCount = 0;
+        long returningCount = 0;
+        Map<String, Long> tagCounts = new LinkedHashMap<>();
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        for (Object[] row : rows) {
+            boolean typeGrouped = ((Number) row[2]).intValue() == 1;
+            boolean tagGrouped = ((Number) row[3]).intValue() == 1;
+            long count = ((Number) row[4]).longValue();
+
+            if (typeGrouped && tagGrouped) {
+                // () - umumiy natija
+                totalCount = count;
+                returningCount = ((Number) row[5]).longValue();
+            } else if (!typeGrouped) {
+                // (t.type)
+                String type = (String) row[0];
+                if (TransactionType.IN.name().equals(type)) {
+                    inCount = count;
+                } else if (TransactionType.OUT.name().equals(type)) {
+                    outCount = count;
+                }
+            } else if (row[1] != null) {
+                // (t.product_tag_name) - tag'i yo'q transaction'lar hisoblanmaydi
+                tagCounts.put((String) row[1], count);
+            }
+        }
+
+        return InventoryTransactionStats.builder()
+                .totalCount(totalCount)
+                .inCount(inCount)
+                .outCount(outCount)
+                .returningCount(returningCount)
+                .productTagCounts(tagCounts)
+                .build();
+    }
 }
@@ -0,0 +1,53 @@
+package org.exp.primeapp.repository;
+
+import org.exp.primeapp.models.dto.response.ProductCardView;
+import org.exp.primeapp.models.entities.ProductCard;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * product_cards - storefront o'qishlari uchun bitta tor jadval, join'siz
+ */
+@Repository
+public interface ProductCardRepository extends JpaRepository<ProductCard, Long>, ProductCardRepositoryCustom {
+
+        String CARD_SELECT = "SELECT new org.exp.primeapp.models.dto.response.ProductCardView("
+                        + "pc.id, pc.name, pc.brand, pc.colorHex, pc.tag, pc.price, pc.discountPercent, "
+                        + "pc.mainImageUrl, pc.mainImageCardUrl) FROM ProductCard pc ";
+
+        @Query(CARD_SELECT + "WHERE pc.id IN :productIds")
+        List<ProductCardView> findCardsByIdIn(@Param("productIds") Collection<Long> productIds);
+
+        // Jadvalda faqat ON_SALE mahsulotlar bor
+        @Query(value = CARD_SELECT + "ORDER BY pc.id DESC",
+                        countQuery = "SELECT COUNT(pc) FROM ProductCard pc")
+        Page<ProductCardView> findCardsOrderByIdDesc(Pageable pageable);
+
+        // COUNT'siz: size + 1 ta o'qiladi
+        @Query(CARD_SELECT + "ORDER BY pc.id DESC")
+        Slice<ProductCardView> findCardSliceOrderByIdDesc(Pageable pageable);
+
+        // Featured pool uchun: [id, tag]
+        @Query("SELECT pc.id, pc.tag FROM ProductCard pc")
+        List<Object[]> findIdAndTag();
+
+        @Query("SELECT pc.id, pc.tag FROM ProductCard pc WHERE pc.id IN :ids")
+        List<Object[]> findIdAndTagByIdIn(@Param("ids") Collection<Long> ids);
+
+        // Catalog index uchun: [id, price, discountPercent, colorName, brand, tag, categoryName, spotlightName, sizes]
+        @Query("SELECT pc.id, pc.price, pc.discountPercent, pc.colorName, pc.brand, pc.tag, pc.categoryName, "
+                        + "pc.spotlightName, pc.sizes FROM ProductCard pc")
+        List<Object[]> findCatalogRows();
+
+        @Query("SELECT pc.id, pc.price, pc.discountPercent, pc.colorName, pc.brand, pc.tag, pc.categoryName, "
+                        + "pc.spotlightName, pc.sizes FROM ProductCard pc WHERE pc.id IN :productIds")
+        List<Object[]> findCatalogRowsByIdIn(@Param("productIds") Collection<Long> productIds);
+}
@@ -0,0 +1,22 @@
+package org.exp.primeapp.repository;
+
+import java.util.Collection;
+
+public interface ProductCardRepositoryCustom {
+
+    /**
+     * Berilgan mahsulotlarning kartalarini products/attachments/product_sizes'dan qayta hisoblaydi
+     * (ON_SALE bo'lmaganlari o'chiriladi). Joriy transaction ichida ishlaydi.
+     */
+    int refreshProducts(Collection<Long> productIds);
+
+    /**
+     * Category nomi/spotlight/status o'zgarganda shu category'dagi barcha kartalar
+     */
+    int refreshCategory(Long categoryId);
+
+    /**
+     * Jadvalni to'liq qayta yig'adi
+     */
+    int rebuildAll();
+}
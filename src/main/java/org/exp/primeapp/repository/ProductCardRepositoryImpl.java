@@ -0,0 +1,109 @@
+package org.exp.primeapp.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.exp.primeapp.models.enums.ProductStatus;
+import org.exp.primeapp.models.enums.ProductTag;
+import org.exp.primeapp.models.enums.Size;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+public class ProductCardRepositoryImpl implements ProductCardRepositoryCustom {
+
+    // size_mask biti = Size.ordinal(); nomlar enum'dan olinadi, foydalanuvchi qiymati emas
+    private static final String SIZE_ORDER = Arrays.stream(Size.values())
+            .map(size -> "'" + size.name() + "'")
+            .collect(Collectors.joining(", ", "ARRAY[", "]"));
+
+    // Birinchi rasm (eng kichik id) va o'lchamlar yig'indisi LATERAL bilan - har bir mahsulot uchun index scan.
+    // discount_price PriceUtil.unitPrice bilan bir xil: faqat SALE va 1..100 foiz.
+    private static final String UPSERT_SQL = """
+            INSERT INTO product_cards (
+                product_id, name, brand, color_name, color_hex, tag, price, discount_percent, discount_price,
+                main_image_url, main_image_card_url, sizes, size_mask, total_stock, sales_count,
+                category_id, category_name, spotlight_name, refreshed_at)
+            SELECT p.id, p.name, p.brand, p.color_name, p.color_hex, p.tag, p.price, p.discount_percent,
+                CASE WHEN p.tag = :saleTag AND p.discount_percent BETWEEN 1 AND 100
+                     THEN p.price - ROUND(p.price * p.discount_percent / 100.0, 2)
+                     ELSE p.price END,
+                img.url, img.card_url,
+                COALESCE(s.sizes, ''), COALESCE(s.size_mask, 0), COALESCE(s.total_stock, 0), p.sales_count,
+                c.id, c.name, c.spotlight_name, LOCALTIMESTAMP
+            FROM products p
+            JOIN categories c ON c.id = p.category_id
+            LEFT JOIN LATERAL (
+                SELECT a.url, a.card_url FROM attachments a
+                WHERE a.product_id = p.id ORDER BY a.id LIMIT 1
+            ) img ON TRUE
+            LEFT JOIN LATERAL (
+                SELECT string_agg(ps.size, ',' ORDER BY array_position(%1$s, CAST(ps.size AS TEXT))) AS sizes,
+                       bit_or(CAST(1 AS BIGINT) << (array_position(%1$s, CAST(ps.size AS TEXT)) - 1)) AS size_mask,
+                       CAST(SUM(ps.quantity) AS INTEGER) AS total_stock
+                FROM product_sizes ps WHERE ps.product_id = p.id
+            ) s ON TRUE
+            WHERE p.status = :status AND %2$s
+            ON CONFLICT (product_id) DO UPDATE SET
+                name = EXCLUDED.name, brand = EXCLUDED.brand, color_name = EXCLUDED.color_name,
+                color_hex = EXCLUDED.color_hex, tag = EXCLUDED.tag, price = EXCLUDED.price,
+                discount_percent = EXCLUDED.discount_percent, discount_price = EXCLUDED.discount_price,
+                main_image_url = EXCLUDED.main_image_url, main_image_card_url = EXCLUDED.main_image_card_url,
+                sizes = EXCLUDED.sizes, size_mask = EXCLUDED.size_mask, total_stock = EXCLUDED.total_stock,
+                sales_count = EXCLUDED.sales_count, category_id = EXCLUDED.category_id,
+                category_name = EXCLUDED.category_name, spotlight_name = EXCLUDED.spotlight_name,
+                refreshed_at = EXCLUDED.refreshed_at
+            """;
+
+    // Endi ON_SALE bo'lmagan (yoki o'chirilgan) mahsulotlar kartasi olib tashlanadi
+    private static final String DELETE_STALE_SQL = """
+            DELETE FROM product_cards pc
+            WHERE %s
+            AND NOT EXISTS (SELECT 1 FROM products p WHERE p.id = pc.product_id AND p.status = :status)
+            """;
+
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int refreshProducts(Collection<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return 0;
+        }
+        return refresh("p.id IN (:productIds)", "pc.product_id IN (:productIds)", Map.of("productIds", productIds));
+    }
+
+    @Override
+    @Transactional
+    public int refreshCategory(Long categoryId) {
+        return refresh("p.category_id = :categoryId", "pc.category_id = :categoryId", Map.of("categoryId", categoryId));
+    }
+
+    @Override
+    @Transactional
+    public int rebuildAll() {
+        return refresh("TRUE", "TRUE", Map.of());
+    }
+
+    private int refresh(String productScope, String cardScope, Map<String, Object> params) {
+        // Joriy transaction'dagi entity o'zgarishlari SQL'dan oldin bazaga tushishi kerak
+        entityManager.flush();
+
+        Query upsert = entityManager.createNativeQuery(UPSERT_SQL.formatted(SIZE_ORDER, productScope));
+        upsert.setParameter("status", ProductStatus.ON_SALE.name());
+        upsert.setParameter("saleTag", ProductTag.SALE.name());
+        params.forEach(upsert::setParameter);
+        int upserted = upsert.executeUpdate();
+
+        Query delete = entityManager.createNativeQuery(DELETE_STALE_SQL.formatted(cardScope));
+        delete.setParameter("status", ProductStatus.ON_SALE.name());
+        params.forEach(delete::setParameter);
+        return upserted + delete.executeUpdate();
+    }
+}
@@ -1,5 +1,6 @@
 package org.exp.primeapp.repository;
 
+import org.exp.primeapp.models.dto.response.ProductCardView;
 import org.exp.primeapp.models.entities.Category;
 import org.exp.primeapp.models.entities.Product;
 import org.exp.primeapp.models.enums.ProductStatus;
@@ -13,10 +14,12 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductRepositoryCustom {
 
         List<Product> findAllByCategory(Category category);
 
@@ -35,19 +38,33 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
 
         long countByStatus(ProductStatus status);
 
+        // Multi-get: category bitta query'da, har bir product uchun alohida select yo'q
+        @Query("SELECT p FROM Product p JOIN FETCH p.category WHERE p.id IN :productIds")
+        List<Product> findAllWithCategoryByIdIn(@Param("productIds") Collection<Long> productIds);
+
         @Transactional
         @Modifying
         @Query("UPDATE Product p SET p.status = CASE WHEN p.status = 'ON_SALE' THEN 'ARCHIVED' ELSE 'ON_SALE' END WHERE p.id = :productId")
         void toggleProductUpdateStatus(@Param("productId") Long productId);
 
-        @Query(value = "SELECT * FROM products p WHERE p.status = 'SALE' ORDER BY RANDOM() LIMIT 4", nativeQuery = true)
-        List<Product> findRandom4ActiveProductsStatusSale();
+        // Admin kartalari (barcha statuslar): birinchi rasm (eng kichik id) LEFT JOIN bilan, entity yuklanmaydi
+        String CARD_SELECT = "SELECT new org.exp.primeapp.models.dto.response.ProductCardView("
+                        + "p.id, p.name, p.brand, p.colorHex, p.tag, p.price, p.discountPercent, a.url, a.cardUrl) "
+                        + "FROM Product p LEFT JOIN Attachment a ON a.product = p "
+                        + "AND a.id = (SELECT MIN(a2.id) FROM Attachment a2 WHERE a2.product = p) ";
+
+        @Query(CARD_SELECT + "ORDER BY p.id ASC")
+        List<ProductCardView> findAllCards();
 
-        @Query(value = "SELECT * FROM products p WHERE p.status = 'NEW' ORDER BY RANDOM() LIMIT 4", nativeQuery = true)
-        List<Product> findRandom4ActiveProductsStatusNew();
+        // Autocomplete va fuzzy index'lar uchun: [id, name, brand, salesCount, categoryId, colorName]
+        @Query("SELECT p.id, p.name, p.brand, p.salesCount, p.category.id, p.colorName FROM Product p "
+                        + "WHERE p.status = :status")
+        List<Object[]> findSuggestionRowsByStatus(@Param("status") ProductStatus status);
 
-        @Query(value = "SELECT * FROM products p WHERE p.status = 'HOT' ORDER BY RANDOM() LIMIT 4", nativeQuery = true)
-        List<Product> findRandom4ActiveProductsStatusHot();
+        @Query("SELECT p.id, p.name, p.brand, p.salesCount, p.category.id, p.colorName FROM Product p "
+                        + "WHERE p.status = :status AND p.id IN :productIds")
+        List<Object[]> findSuggestionRowsByStatusAndIdIn(@Param("status") ProductStatus status,
+                        @Param("productIds") Collection<Long> productIds);
 
         // List<Product> findAllByCategory_IdAndActive(Long categoryId, Boolean active);
 
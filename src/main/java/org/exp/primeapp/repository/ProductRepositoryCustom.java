@@ -0,0 +1,28 @@
+package org.exp.primeapp.repository;
+
+import org.exp.primeapp.models.dto.request.ProductFacetFilter;
+import org.exp.primeapp.models.dto.responce.user.ProductFacetsRes;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Search natijasi: product id va relevance score (tsvector rank + trigram similarity)
+     */
+    record ProductSearchHit(Long productId, BigDecimal score) {
+    }
+
+    /**
+     * Category/color/size/brand/tag bo'yicha facet sonlari - bitta GROUPING SETS query bilan
+     */
+    ProductFacetsRes aggregateFacets(ProductFacetFilter filter);
+
+    /**
+     * ON_SALE mahsulotlar ichida full-text + trigram qidiruv, (score, id) bo'yicha keyset paging.
+     * afterScore/afterId null bo'lsa birinchi sahifa.
+     */
+    List<ProductSearchHit> search(String query, ProductFacetFilter filter,
+                                  BigDecimal afterScore, Long afterId, int limit);
+}
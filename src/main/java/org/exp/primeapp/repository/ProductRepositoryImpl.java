@@ -0,0 +1,197 @@
+package org.exp.primeapp.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.exp.primeapp.models.dto.request.ProductFacetFilter;
+import org.exp.primeapp.models.dto.responce.user.ProductFacetsRes;
+import org.exp.primeapp.models.enums.ProductStatus;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public ProductFacetsRes aggregateFacets(ProductFacetFilter filter) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("status", ProductStatus.ON_SALE.name());
+
+        String spotlight = condition(filter.spotlightName(), "c.spotlight_name = :spotlightName", "spotlightName", params);
+        String category = condition(filter.categoryName(), "c.name = :categoryName", "categoryName", params);
+        String color = condition(filter.colorName(), "p.color_name = :colorName", "colorName", params);
+        String size = condition(filter.sizeName(), "ps.size = :sizeName", "sizeName", params);
+        String brand = condition(filter.brandName(), "p.brand = :brandName", "brandName", params);
+        String tag = condition(filter.tag(), "p.tag = :tag", "tag", params);
+
+        // Har bir dimension o'z filteridan tashqari qolgan filterlar bilan sanaladi (FILTER ... WHERE),
+        // shuning uchun jadval bir marta o'qiladi. Size join qatorlarni ko'paytiradi - DISTINCT p.id.
+        String sql = """
+                SELECT
+                    GROUPING(c.name) AS category_grouping,
+                    GROUPING(p.color_name) AS color_grouping,
+                    GROUPING(ps.size) AS size_grouping,
+                    GROUPING(p.brand) AS brand_grouping,
+                    GROUPING(p.tag) AS tag_grouping,
+                    c.name,
+                    p.color_name,
+                    ps.size,
+                    p.brand,
+                    p.tag,
+                """
+                + "    COUNT(DISTINCT p.id) FILTER (WHERE " + and(color, size, brand, tag) + ") AS category_count,\n"
+                + "    COUNT(DISTINCT p.id) FILTER (WHERE " + and(category, size, brand, tag) + ") AS color_count,\n"
+                + "    COUNT(DISTINCT p.id) FILTER (WHERE " + and(category, color, brand, tag) + ") AS size_count,\n"
+                + "    COUNT(DISTINCT p.id) FILTER (WHERE " + and(category, color, size, tag) + ") AS brand_count,\n"
+                + "    COUNT(DISTINCT p.id) FILTER (WHERE " + and(category, color, size, brand) + ") AS tag_count,\n"
+                + "    COUNT(DISTINCT p.id) FILTER (WHERE " + and(category, color, size, brand, tag) + ") AS total\n"
+                + """
+                FROM products p
+                JOIN categories c ON c.id = p.category_id
+                LEFT JOIN product_sizes ps ON ps.product_id = p.id
+                WHERE p.status = :status
+                """
+                + (spotlight == null ? "" : "AND " + spotlight + "\n")
+                + "GROUP BY GROUPING SETS ((c.name), (p.color_name), (ps.size), (p.brand), (p.tag), ())";
+
+        Query query = entityManager.createNativeQuery(sql);
+        params.forEach(query::setParameter);
+
+        long totalCount = 0;
+        Map<String, Long> categories = new HashMap<>();
+        Map<String, Long> colors = new HashMap<>();
+        Map<String, Long> sizes = new HashMap<>();
+        Map<String, Long> brands = new HashMap<>();
+        Map<String, Long> tags = new HashMap<>();
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        for (Object[] row : rows) {
+            if (isGroupedBy(row[0])) {
+                putCount(categories, row[5], row[10]);
+            } else if (isGroupedBy(row[1])) {
+                putCount(colors, row[6], row[11]);
+            } else if (isGroupedBy(row[2])) {
+                // Size'i yo'q mahsulotlar (LEFT JOIN null) facet qiymati emas
+                putCount(sizes, row[7], row[12]);
+            } else if (isGroupedBy(row[3])) {
+                putCount(brands, row[8], row[13]);
+            } else if (isGroupedBy(row[4])) {
+                putCount(tags, row[9], row[14]);
+            } else {
+                // () - barcha filterlar bilan umumiy son
+                totalCount = ((Number) row[15]).longValue();
+            }
+        }
+
+        return ProductFacetsRes.builder()
+                .totalCount(totalCount)
+                .categories(sortedByCount(categories))
+                .colors(sortedByCount(colors))
+                .sizes(sortedByCount(sizes))
+                .brands(sortedByCount(brands))
+                .tags(sortedByCount(tags))
+                .build();
+    }
+
+    @Override
+    public List<ProductSearchHit> search(String query, ProductFacetFilter filter,
+                                         BigDecimal afterScore, Long afterId, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("status", ProductStatus.ON_SALE.name());
+        params.put("query", query);
+        params.put("limit", limit);
+
+        List<String> conditions = new ArrayList<>();
+        conditions.add(condition(filter.spotlightName(), "c.spotlight_name = :spotlightName", "spotlightName", params));
+        conditions.add(condition(filter.categoryName(), "c.name = :categoryName", "categoryName", params));
+        conditions.add(condition(filter.colorName(), "p.color_name = :colorName", "colorName", params));
+        conditions.add(condition(filter.brandName(), "p.brand = :brandName", "brandName", params));
+        conditions.add(condition(filter.tag(), "p.tag = :tag", "tag", params));
+        conditions.add(condition(filter.sizeName(),
+                "EXISTS (SELECT 1 FROM product_sizes ps WHERE ps.product_id = p.id AND ps.size = :sizeName)",
+                "sizeName", params));
+        if (afterScore != null && afterId != null) {
+            conditions.add("(s.score < :afterScore OR (s.score = :afterScore AND p.id < :afterId))");
+            params.put("afterScore", afterScore);
+            params.put("afterId", afterId);
+        }
+
+        // Match GIN index'lar orqali (tsvector @@ yoki trigram <%), score faqat mos qatorlar uchun hisoblanadi.
+        // Score yaxlitlanadi - keyset solishtirish cursor'dagi qiymat bilan aniq mos kelishi uchun.
+        String sql = """
+                SELECT p.id, s.score
+                FROM products p
+                JOIN categories c ON c.id = p.category_id
+                CROSS JOIN websearch_to_tsquery('simple', :query) AS q(tsq)
+                CROSS JOIN LATERAL (
+                    SELECT CAST(ts_rank_cd(p.search_vector, q.tsq, 32)
+                                + word_similarity(:query, p.search_text) AS NUMERIC(10, 6)) AS score
+                ) s
+                WHERE p.status = :status
+                AND (p.search_vector @@ q.tsq OR :query <% p.search_text)
+                """
+                + "AND " + and(conditions.toArray(new String[0])) + "\n"
+                + "ORDER BY s.score DESC, p.id DESC\n"
+                + "LIMIT :limit";
+
+        Query nativeQuery = entityManager.createNativeQuery(sql);
+        params.forEach(nativeQuery::setParameter);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = nativeQuery.getResultList();
+        List<ProductSearchHit> hits = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            hits.add(new ProductSearchHit(((Number) row[0]).longValue(), (BigDecimal) row[1]));
+        }
+        return hits;
+    }
+
+    private String condition(String value, String sql, String param, Map<String, Object> params) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        params.put(param, value);
+        return sql;
+    }
+
+    private String and(String... conditions) {
+        List<String> present = new ArrayList<>();
+        for (String condition : conditions) {
+            if (condition != null) {
+                present.add(condition);
+            }
+        }
+        return present.isEmpty() ? "TRUE" : String.join(" AND ", present);
+    }
+
+    // GROUPING(col) = 0 - qator shu ustun bo'yicha guruhlangan
+    private boolean isGroupedBy(Object grouping) {
+        return ((Number) grouping).intValue() == 0;
+    }
+
+    private void putCount(Map<String, Long> counts, Object value, Object count) {
+        if (value != null) {
+            counts.put(value.toString(), ((Number) count).longValue());
+        }
+    }
+
+    private Map<String, Long> sortedByCount(Map<String, Long> counts) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+}
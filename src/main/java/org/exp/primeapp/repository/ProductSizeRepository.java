@@ -9,11 +9,26 @@ import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ProductSizeRepository extends JpaRepository<ProductSize, Long> {
     Optional<ProductSize> findByProductAndSize(Product product, Size size);
 
+    @Query("select ps from ProductSize ps where ps.product.id in :productIds order by ps.id")
+    List<ProductSize> findAllByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Checkout uchun bitta query: size (zaxira), product (narx va snapshot maydonlari), category
+     * va product'ning birinchi rasmi (eng kichik id). Qator: [ProductSize, mainImageUrl].
+     * product_cards emas - unda faqat ON_SALE mahsulotlar bor
+     */
+    @Query("select ps, a.url from ProductSize ps join fetch ps.product p left join fetch p.category "
+            + "left join Attachment a on a.product = p "
+            + "and a.id = (select min(a2.id) from Attachment a2 where a2.product = p) where ps.id in :ids")
+    List<Object[]> findForCheckoutByIdIn(@Param("ids") Collection<Long> ids);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select ps from ProductSize ps where ps.id = :id")
     Optional<ProductSize> findByIdWithLock(@Param("id") Long id);
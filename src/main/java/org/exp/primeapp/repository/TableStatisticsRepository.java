@@ -0,0 +1,32 @@
+package org.exp.primeapp.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+/**
+ * PostgreSQL planner statistikasi - COUNT(*) o'rniga jadval hajmini arzon baholash uchun
+ */
+@Repository
+@RequiredArgsConstructor
+public class TableStatisticsRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * pg_class.reltuples (ANALYZE/autovacuum yangilaydi). Statistika hali yo'q bo'lsa -1
+     */
+    public long estimateRowCount(String tableName) {
+        Object reltuples = entityManager.createNativeQuery(
+                        "SELECT c.reltuples FROM pg_class c WHERE c.oid = to_regclass(:tableName)")
+                .setParameter("tableName", tableName)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+        if (reltuples == null) {
+            return -1;
+        }
+        long estimate = Math.round(((Number) reltuples).doubleValue());
+        return estimate < 0 ? -1 : estimate;
+    }
+}
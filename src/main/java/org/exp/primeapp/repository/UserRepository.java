@@ -3,6 +3,7 @@ package org.exp.primeapp.repository;
 import org.exp.primeapp.models.entities.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -12,13 +13,21 @@ import org.springframework.stereotype.Repository;
 import jakarta.transaction.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
 
-       User findOneByVerifyCode(Integer verifyCode);
+       // Faqat aktiv kodlar - idx_app_users_verify_code orqali
+       @Query("SELECT u FROM User u WHERE u.verifyCode = :code AND u.verifyCodeExpiration > :now")
+       List<User> findAllActiveByVerifyCode(@Param("code") Integer code, @Param("now") LocalDateTime now);
+
+       // [verifyCode, telegramId, verifyCodeExpiration] - OtpCodeStore'ni startup'da to'ldirish uchun
+       @Query("SELECT u.verifyCode, u.telegramId, u.verifyCodeExpiration FROM User u " +
+                     "WHERE u.verifyCode IS NOT NULL AND u.verifyCodeExpiration > :now")
+       List<Object[]> findActiveVerifyCodes(@Param("now") LocalDateTime now);
 
        Optional<User> findByPhoneAndVerifyCode(String phone, Integer verifyCode);
 
@@ -61,19 +70,43 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
        @Query("UPDATE User u SET u.messageId = :messageId WHERE u.telegramId = :telegramId")
        void updateMessageId(@Param("telegramId") Long telegramId, @Param("messageId") Integer messageId);
 
-       @Query("SELECT u FROM User u WHERE " +
-                     "(:status IS NULL OR u.status = :status) AND " +
+       String FILTER_WHERE = "(:status IS NULL OR u.status = :status) AND " +
                      "(:phone IS NULL OR LOWER(u.phone) LIKE LOWER(CONCAT('%', :phone, '%'))) AND " +
-                     "(:firstName IS NULL OR LOWER(u.firstName) LIKE LOWER(CONCAT('%', :firstName, '%')))")
+                     "(:firstName IS NULL OR LOWER(u.firstName) LIKE LOWER(CONCAT('%', :firstName, '%')))";
+
+       @Query("SELECT u FROM User u WHERE " + FILTER_WHERE)
        Page<User> findAllWithFilters(
                      @Param("status") org.exp.primeapp.models.enums.AccountStatus status,
                      @Param("phone") String phone,
                      @Param("firstName") String firstName,
                      Pageable pageable);
 
-       @Query("SELECT u FROM User u WHERE u.verifyCodeExpiration IS NOT NULL " +
-                     "AND u.verifyCodeExpiration < :now AND u.messageId IS NOT NULL")
-       List<User> findUsersWithExpiredOtpCodes(@Param("now") LocalDateTime now);
+       // COUNT'siz: size + 1 ta o'qiladi
+       @Query("SELECT u FROM User u WHERE " + FILTER_WHERE)
+       Slice<User> findSliceWithFilters(
+                     @Param("status") org.exp.primeapp.models.enums.AccountStatus status,
+                     @Param("phone") String phone,
+                     @Param("firstName") String firstName,
+                     Pageable pageable);
+
+       @Query("SELECT COUNT(u) FROM User u WHERE " + FILTER_WHERE)
+       long countWithFilters(
+                     @Param("status") org.exp.primeapp.models.enums.AccountStatus status,
+                     @Param("phone") String phone,
+                     @Param("firstName") String firstName);
+
+       // [telegramId, messageId, verifyCodeExpiration] - o'chirilmagan OTP xabarlari (startup'da bir marta)
+       @Query("SELECT u.telegramId, u.messageId, u.verifyCodeExpiration FROM User u " +
+                     "WHERE u.messageId IS NOT NULL AND u.verifyCodeExpiration IS NOT NULL")
+       List<Object[]> findPendingOtpMessages();
+
+       // Kod shu orada yangilangan bo'lsa (expiration kelajakda) messageId tegilmaydi
+       @Modifying
+       @Transactional
+       @Query("UPDATE User u SET u.messageId = NULL WHERE u.telegramId IN :telegramIds " +
+                     "AND u.verifyCodeExpiration <= :now")
+       int clearExpiredMessageIds(@Param("telegramIds") Collection<Long> telegramIds,
+                     @Param("now") LocalDateTime now);
 
        List<User> findByRoles_Name(String roleName);
 }
\ No newline at end of file
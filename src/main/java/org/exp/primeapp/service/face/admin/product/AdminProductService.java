@@ -22,4 +22,6 @@ public interface AdminProductService {
     AdminProductRes toggleProductUpdate(Long productId);
 
     List<ProductPageRes> getProductListForIncome();
+
+    void rebuildProductCards();
 }
\ No newline at end of file
@@ -1,11 +1,16 @@
 package org.exp.primeapp.service.face.user;
 
 import org.exp.primeapp.models.dto.request.CartItemReq;
+import org.exp.primeapp.models.dto.responce.user.CartPriceRes;
 import org.exp.primeapp.models.dto.responce.user.FeaturedProductRes;
 import org.exp.primeapp.models.dto.responce.user.ProductCartRes;
+import org.exp.primeapp.models.dto.responce.user.ProductFacetsRes;
 import org.exp.primeapp.models.dto.responce.user.ProductPageRes;
 import org.exp.primeapp.models.dto.responce.user.ProductRes;
+import org.exp.primeapp.models.dto.responce.user.SuggestionRes;
+import org.exp.primeapp.models.dto.responce.user.page.CursorPageRes;
 import org.exp.primeapp.models.dto.responce.user.page.PageRes;
+import org.exp.primeapp.models.enums.PageCountMode;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
@@ -21,7 +26,38 @@ public interface ProductService {
             String brandName,
             String tag,
             String sortBy,
+            PageCountMode countMode,
             Pageable pageable);
+    ProductFacetsRes getProductFacets(
+            String spotlightName,
+            String categoryName,
+            String colorName,
+            String sizeName,
+            String brandName,
+            String tag);
+    List<SuggestionRes> getSuggestions(String prefix, int limit);
+    CursorPageRes<ProductPageRes> searchProducts(
+            String query,
+            String spotlightName,
+            String categoryName,
+            String colorName,
+            String sizeName,
+            String brandName,
+            String tag,
+            String cursor,
+            int size);
+    CursorPageRes<ProductPageRes> getActiveProductsByCursor(
+            String spotlightName,
+            String categoryName,
+            String colorName,
+            String sizeName,
+            String brandName,
+            String tag,
+            String sortBy,
+            String cursor,
+            int size);
+    List<ProductRes> getProductsByIds(List<Long> productIds);
+
     PageRes<ProductRes> getProductsByCategoryId(Long categoryId, Pageable pageable);
 
     ProductRes getProductById(Long id);
@@ -36,6 +72,11 @@ public interface ProductService {
 
     FeaturedProductRes getFeaturedRandomProducts();
     
+    /**
+     * Savat qatorlari va umumiy summa - barcha qatorlar uchun bitta set-based narxlash
+     */
+    CartPriceRes priceCart(List<CartItemReq> cartItems);
+
     List<ProductCartRes> getCartProducts(List<CartItemReq> cartItems);
 
     List<ProductCartRes> getCartOrderProducts(List<CartItemReq> cartItems);
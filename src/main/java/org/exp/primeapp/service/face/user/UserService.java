@@ -5,6 +5,7 @@ import org.exp.primeapp.models.dto.responce.admin.AdminUserDetailRes;
 import org.exp.primeapp.models.dto.responce.admin.AdminUserRes;
 import org.exp.primeapp.models.dto.responce.user.UserRes;
 import org.exp.primeapp.models.dto.responce.user.page.PageRes;
+import org.exp.primeapp.models.enums.PageCountMode;
 import org.exp.primeapp.models.entities.User;
 import org.springframework.data.domain.Pageable;
 
@@ -32,5 +33,6 @@ public interface UserService {
 
     AdminUserDetailRes getAdminUserDetailById(Long userId);
 
-    PageRes<AdminUserDetailRes> getAdminUsersWithFilter(Pageable pageable, Boolean active, String phone, String firstName);
+    PageRes<AdminUserDetailRes> getAdminUsersWithFilter(Pageable pageable, Boolean active, String phone, String firstName,
+                                                        PageCountMode countMode);
 }
\ No newline at end of file
@@ -5,10 +5,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.exp.primeapp.models.dto.responce.global.AttachmentRes;
 import org.exp.primeapp.models.entities.Attachment;
+import org.exp.primeapp.models.events.AttachmentUploadedEvent;
+import org.exp.primeapp.models.events.ProductChangedEvent;
 import org.exp.primeapp.repository.AttachmentRepository;
 import org.exp.primeapp.service.face.admin.attachment.AdminAttachmentService;
 import org.exp.primeapp.service.face.global.attachment.AttachmentService;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -29,6 +32,8 @@ public class AdminAttachmentServiceImpl implements AdminAttachmentService {
 
     private final AttachmentRepository attachmentRepository;
     private final AttachmentService attachmentService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ImageVariantGenerator imageVariantGenerator;
 
     @Value("${app.attachment.base.url}")
     private String attachmentBaseUrl;
@@ -85,15 +90,23 @@ public class AdminAttachmentServiceImpl implements AdminAttachmentService {
         String oldUrl = attachment.getUrl();
         String newUrl = saveFileLocally(file);
 
+        String[] oldVariantUrls = {attachment.getThumbnailUrl(), attachment.getCardUrl(), attachment.getDetailUrl()};
+
         attachment.setUrl(newUrl);
         attachment.setFilename(file.getOriginalFilename());
         attachment.setContentType(file.getContentType());
+        attachment.setThumbnailUrl(null);
+        attachment.setCardUrl(null);
+        attachment.setDetailUrl(null);
 
         try {
             Attachment saved = attachmentRepository.save(attachment);
             if (oldUrl != null && !oldUrl.equals(newUrl)) {
                 deleteLocalFile(oldUrl);
+                imageVariantGenerator.deleteVariants(oldVariantUrls);
             }
+            publishProductChanged(saved);
+            eventPublisher.publishEvent(new AttachmentUploadedEvent(saved.getId(), saved.getUrl()));
             return attachmentService.convertToAttachmentRes(saved);
         } catch (Exception e) {
             log.error("Failed to update attachment ID {} in database: {}", attachmentId, e.getMessage());
@@ -109,6 +122,7 @@ public class AdminAttachmentServiceImpl implements AdminAttachmentService {
 
         try {
             attachmentRepository.delete(attachment);
+            publishProductChanged(attachment);
         } catch (Exception e) {
             log.error("Failed to delete attachment ID {}: {}", attachmentId, e.getMessage());
             throw new RuntimeException("Unable to delete attachment in database", e);
@@ -125,15 +139,22 @@ public class AdminAttachmentServiceImpl implements AdminAttachmentService {
             return;
         }
 
+        String[] variantUrls = {attachment.getThumbnailUrl(), attachment.getCardUrl(), attachment.getDetailUrl()};
         try {
             attachment.setUrl("deleted_" + attachment.getUrl());
+            // Variant fayllari o'chiriladi - URL'lari ham 404 bermasligi uchun tozalanadi
+            attachment.setThumbnailUrl(null);
+            attachment.setCardUrl(null);
+            attachment.setDetailUrl(null);
             attachmentRepository.save(attachment);
+            publishProductChanged(attachment);
         } catch (Exception e) {
             log.error("Failed to soft-delete attachment ID {}: {}", attachmentId, e.getMessage());
             throw new RuntimeException("Unable to soft-delete attachment in database", e);
         }
 
         deleteLocalFile(url);
+        imageVariantGenerator.deleteVariants(variantUrls);
     }
 
     @Override
@@ -204,7 +225,10 @@ public class AdminAttachmentServiceImpl implements AdminAttachmentService {
                 .fileExtension(getFileExtension(file.getOriginalFilename()))
                 .build();
         try {
-            return attachmentRepository.save(newAttachment);
+            Attachment saved = attachmentRepository.save(newAttachment);
+            // Variant'lar commit'dan keyin fon rejimida yaratiladi - upload kutib qolmaydi
+            eventPublisher.publishEvent(new AttachmentUploadedEvent(saved.getId(), saved.getUrl()));
+            return saved;
         } catch (Exception e) {
             log.error("Failed to save attachment for file {}: {}", file.getOriginalFilename(), e.getMessage());
             deleteLocalFile(url); // Rollback file upload
@@ -212,6 +236,12 @@ public class AdminAttachmentServiceImpl implements AdminAttachmentService {
         }
     }
 
+    private void publishProductChanged(Attachment attachment) {
+        if (attachment.getProduct() != null) {
+            eventPublisher.publishEvent(ProductChangedEvent.of(attachment.getProduct().getId()));
+        }
+    }
+
     private String getFileExtension(String filename) {
         if (filename == null || filename.isEmpty()) {
             return "";
@@ -0,0 +1,214 @@
+package org.exp.primeapp.service.impl.admin.attachment;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.exp.primeapp.models.enums.ImageVariant;
+import org.exp.primeapp.models.events.AttachmentUploadedEvent;
+import org.exp.primeapp.models.events.ProductChangedEvent;
+import org.exp.primeapp.repository.AttachmentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Upload qilingan rasmdan thumbnail / card / detail variant'larini fon rejimida yaratadi.
+ * Variant'lar original yonida saqlanadi: {nom}_{suffix}.{jpg|png}.
+ * Executor chegaralangan - navbat to'lsa variant yaratilmaydi va client original'dan foydalanadi.
+ */
+@Slf4j
+@Component
+public class ImageVariantGenerator {
+
+    private final AttachmentRepository attachmentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThreadPoolExecutor executor;
+
+    @Value("${app.attachment.folder.path:uploads}")
+    private String attachmentFolderPath;
+
+    // Decode qilinadigan rasmning maksimal piksel soni - kichik file katta rasmga ochilishi mumkin (decompression bomb)
+    @Value("${app.image-variants.max-pixels:25000000}")
+    private long maxPixels;
+
+    public ImageVariantGenerator(
+            AttachmentRepository attachmentRepository,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.image-variants.threads:2}") int threads,
+            @Value("${app.image-variants.queue-capacity:100}") int queueCapacity) {
+        this.attachmentRepository = attachmentRepository;
+        this.eventPublisher = eventPublisher;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttachmentUploaded(AttachmentUploadedEvent event) {
+        try {
+            executor.execute(() -> generate(event.attachmentId(), event.url()));
+        } catch (RejectedExecutionException e) {
+            log.warn("Image variant queue is full, skipping attachment {}", event.attachmentId());
+        }
+    }
+
+    /**
+     * Variant file'larini URL bo'yicha o'chiradi (null'lar o'tkazib yuboriladi)
+     */
+    public void deleteVariants(String... variantUrls) {
+        for (String variantUrl : variantUrls) {
+            if (variantUrl != null) {
+                deleteQuietly(filenameOf(variantUrl));
+            }
+        }
+    }
+
+    private void generate(Long attachmentId, String url) {
+        try {
+            String filename = filenameOf(url);
+            Path original = Paths.get(attachmentFolderPath, filename);
+            BufferedImage source = Files.isRegularFile(original) ? readWithinLimit(original) : null;
+            if (source == null) {
+                // ImageIO o'qiy olmaydigan format (masalan webp) yoki juda katta rasm - original ishlatiladi
+                log.debug("Skipping image variants for attachment {}: unreadable image {}", attachmentId, filename);
+                return;
+            }
+
+            boolean hasAlpha = source.getColorModel().hasAlpha();
+            String format = hasAlpha ? "png" : "jpg";
+            String stem = filename.contains(".") ? filename.substring(0, filename.lastIndexOf('.')) : filename;
+            String urlPrefix = url.substring(0, url.length() - filename.length());
+
+            Map<ImageVariant, String> variantUrls = new EnumMap<>(ImageVariant.class);
+            for (ImageVariant variant : ImageVariant.values()) {
+                String variantFilename = stem + "_" + variant.getSuffix() + "." + format;
+                BufferedImage resized = resize(source, variant.getMaxDimension(), hasAlpha);
+                ImageIO.write(resized, format, original.resolveSibling(variantFilename).toFile());
+                variantUrls.put(variant, urlPrefix + variantFilename);
+            }
+
+            int updated = attachmentRepository.updateVariantUrls(
+                    attachmentId,
+                    url,
+                    variantUrls.get(ImageVariant.THUMBNAIL),
+                    variantUrls.get(ImageVariant.CARD),
+                    variantUrls.get(ImageVariant.DETAIL));
+            if (updated == 0) {
+                // Attachment shu orada o'chirilgan yoki boshqa file bilan almashtirilgan
+                variantUrls.values().forEach(variantUrl -> deleteQuietly(filenameOf(variantUrl)));
+                return;
+            }
+
+            attachmentRepository.findProductIdById(attachmentId)
+                    .ifPresent(productId -> eventPublisher.publishEvent(ProductChangedEvent.of(productId)));
+            log.info("Image variants generated for attachment {}", attachmentId);
+        } catch (Exception e) {
+            log.error("Failed to generate image variants for attachment {}: {}", attachmentId, e.getMessage());
+        }
+    }
+
+    /**
+     * O'lchamlar avval header'dan o'qiladi, pikseli maxPixels'dan oshsa rasm decode qilinmaydi
+     */
+    private BufferedImage readWithinLimit(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    log.warn("Image {} has {} pixels, limit is {} - skipping variants",
+                            file.getFileName(), pixels, maxPixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Eng uzun tomoni maxDimension'dan oshmaydigan qilib kichraytiradi (kattalashtirmaydi)
+     */
+    private BufferedImage resize(BufferedImage source, int maxDimension, boolean hasAlpha) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight,
+                hasAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            if (!hasAlpha) {
+                // JPEG'da shaffoflik yo'q - fon oq bo'ladi
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, targetWidth, targetHeight);
+            }
+            graphics.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private void deleteQuietly(String filename) {
+        try {
+            Files.deleteIfExists(Paths.get(attachmentFolderPath, filename));
+        } catch (IOException e) {
+            log.warn("Failed to delete image variant {}: {}", filename, e.getMessage());
+        }
+    }
+
+    private String filenameOf(String url) {
+        Objects.requireNonNull(url, "url");
+        return url.substring(url.lastIndexOf('/') + 1);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
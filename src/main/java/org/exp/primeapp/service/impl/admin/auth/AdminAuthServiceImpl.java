@@ -10,11 +10,13 @@ import org.exp.primeapp.models.dto.request.AdminLoginReq;
 import org.exp.primeapp.models.dto.responce.global.LoginRes;
 import org.exp.primeapp.models.dto.responce.user.UserRes;
 import org.exp.primeapp.models.entities.User;
+import org.exp.primeapp.models.events.UserChangedEvent;
 import org.exp.primeapp.repository.UserRepository;
 import org.exp.primeapp.service.face.admin.auth.AdminAuthService;
 import org.exp.primeapp.utils.IpAddressUtil;
 import org.exp.primeapp.utils.UserUtil;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -28,6 +30,7 @@ public class AdminAuthServiceImpl implements AdminAuthService {
         private final JwtCookieService jwtService;
         private final UserUtil userUtil;
         private final IpAddressUtil ipAddressUtil;
+        private final ApplicationEventPublisher eventPublisher;
 
         @Value("${cookie.max.age}")
         private Integer cookieMaxAge;
@@ -55,6 +58,8 @@ public class AdminAuthServiceImpl implements AdminAuthService {
                 String token = jwtService.generateToken(u, request);
 
                 userRepository.save(u);
+                // Cache'dagi principal login'dan oldingi holatda qolmasligi uchun
+                eventPublisher.publishEvent(UserChangedEvent.ofUserId(u.getId()));
 
                 jwtService.setJwtCookie(token, cookieNameAdmin, response, request);
 
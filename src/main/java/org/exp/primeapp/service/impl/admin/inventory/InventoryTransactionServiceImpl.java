@@ -1,26 +1,32 @@
 package org.exp.primeapp.service.impl.admin.inventory;
 
+import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.exp.primeapp.models.dto.request.InventoryTransactionFilter;
 import org.exp.primeapp.models.dto.request.InventoryTransactionRequest;
 import org.exp.primeapp.models.dto.request.InventoryTransactionSizeItem;
 import org.exp.primeapp.models.dto.response.InventoryTransactionResponse;
+import org.exp.primeapp.models.dto.response.InventoryTransactionStats;
 import org.exp.primeapp.models.entities.*;
 import org.exp.primeapp.models.enums.Size;
+import org.exp.primeapp.models.enums.TransactionReason;
 import org.exp.primeapp.models.enums.TransactionType;
+import org.exp.primeapp.models.events.ProductChangedEvent;
 import org.exp.primeapp.repository.*;
 import org.exp.primeapp.service.face.admin.inventory.InventoryTransactionService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service implementation for managing Inventory Transactions
@@ -37,6 +43,7 @@ public class InventoryTransactionServiceImpl implements InventoryTransactionServ
         private final CustomerRepository customerRepository;
         private final UserRepository userRepository;
         private final OrderRepository orderRepository;
+        private final ApplicationEventPublisher eventPublisher;
 
         @Override
         @Transactional
@@ -149,6 +156,8 @@ public class InventoryTransactionServiceImpl implements InventoryTransactionServ
                         }
                 }
 
+                eventPublisher.publishEvent(ProductChangedEvent.of(product.getId()));
+
                 log.info("Inventory transaction created with ID: {}", lastTransaction.getId());
                 return mapToResponse(lastTransaction);
         }
@@ -175,14 +184,17 @@ public class InventoryTransactionServiceImpl implements InventoryTransactionServ
                 log.info("Getting all transactions with filters - type: {}, reason: {}, productId: {}", type, reason,
                                 productId);
 
-                // For now, simple implementation - can be enhanced with filters later
-                Page<InventoryTransaction> transactionsPage = inventoryTransactionRepository.findAll(pageable);
-
-                List<InventoryTransactionResponse> responses = transactionsPage.getContent().stream()
-                                .map(this::mapToResponse)
-                                .collect(Collectors.toList());
+                InventoryTransactionFilter filter = InventoryTransactionFilter.builder()
+                                .type(parseType(type))
+                                .reason(parseReason(reason))
+                                .productId(productId)
+                                .customerId(customerId)
+                                .startDate(startDate)
+                                .endDate(endDate)
+                                .build();
 
-                return new PageImpl<>(responses, pageable, transactionsPage.getTotalElements());
+                return inventoryTransactionRepository.findAll(buildSpecification(filter), pageable)
+                                .map(this::mapToResponse);
         }
 
         /**
@@ -315,93 +327,98 @@ public class InventoryTransactionServiceImpl implements InventoryTransactionServ
                 log.info("Getting all transactions with stats - type: {}, reason: {}, productId: {}, categoryId: {}, size: {}, tag: {}",
                                 type, reason, productId, categoryId, productSize, productTag);
 
-                // Build filtering spec/criteria (simplified - would use Specification in real
-                // implementation)
-                // For now, using JPA query
-                Page<InventoryTransaction> transactionsPage = inventoryTransactionRepository.findAll(pageable);
-
-                // Apply filters manually on the result
-                List<InventoryTransaction> filteredList = transactionsPage.getContent().stream()
-                                .filter(t -> type == null || t.getType().name().equals(type))
-                                .filter(t -> reason == null
-                                                || (t.getReason() != null && t.getReason().name().equals(reason)))
-                                .filter(t -> productId == null
-                                                || (t.getProduct() != null && t.getProduct().getId().equals(productId)))
-                                .filter(t -> categoryId == null
-                                                || (t.getProduct() != null && t.getProduct().getCategory() != null
-                                                                && t.getProduct().getCategory().getId()
-                                                                                .equals(categoryId)))
-                                .filter(t -> productSize == null || (t.getProductSize() != null
-                                                && t.getProductSize().equals(productSize)))
-                                .filter(t -> productTag == null
-                                                || (t.getProductTag() != null && t.getProductTag().equals(productTag)))
-                                .filter(t -> performedById == null || (t.getPerformedBy() != null
-                                                && t.getPerformedBy().getId().equals(performedById)))
-                                .filter(t -> startDate == null
-                                                || (t.getCreatedAt() != null && !t.getCreatedAt().isBefore(startDate)))
-                                .filter(t -> endDate == null
-                                                || (t.getCreatedAt() != null && !t.getCreatedAt().isAfter(endDate)))
-                                .collect(Collectors.toList());
-
-                // Get all transactions for statistics (without pagination)
-                List<InventoryTransaction> allForStats = inventoryTransactionRepository.findAll().stream()
-                                .filter(t -> type == null || t.getType().name().equals(type))
-                                .filter(t -> reason == null
-                                                || (t.getReason() != null && t.getReason().name().equals(reason)))
-                                .filter(t -> productId == null
-                                                || (t.getProduct() != null && t.getProduct().getId().equals(productId)))
-                                .filter(t -> categoryId == null
-                                                || (t.getProduct() != null && t.getProduct().getCategory() != null
-                                                                && t.getProduct().getCategory().getId()
-                                                                                .equals(categoryId)))
-                                .filter(t -> productSize == null || (t.getProductSize() != null
-                                                && t.getProductSize().equals(productSize)))
-                                .filter(t -> productTag == null
-                                                || (t.getProductTag() != null && t.getProductTag().equals(productTag)))
-                                .filter(t -> performedById == null || (t.getPerformedBy() != null
-                                                && t.getPerformedBy().getId().equals(performedById)))
-                                .filter(t -> startDate == null
-                                                || (t.getCreatedAt() != null && !t.getCreatedAt().isBefore(startDate)))
-                                .filter(t -> endDate == null
-                                                || (t.getCreatedAt() != null && !t.getCreatedAt().isAfter(endDate)))
-                                .collect(Collectors.toList());
-
-                // Calculate statistics
-                long totalCount = allForStats.size();
-                long inCount = allForStats.stream()
-                                .filter(t -> t.getType() == TransactionType.IN)
-                                .count();
-                long outCount = allForStats.stream()
-                                .filter(t -> t.getType() == TransactionType.OUT)
-                                .count();
-                long returningCount = allForStats.stream()
-                                .filter(t -> t.getReason() != null && t.getReason().name().contains("RETURN"))
-                                .count();
-
-                // Product tag counts
-                java.util.Map<String, Long> tagCounts = allForStats.stream()
-                                .filter(t -> t.getProductTag() != null)
-                                .collect(Collectors.groupingBy(
-                                                InventoryTransaction::getProductTag,
-                                                Collectors.counting()));
-
-                // Map to responses
-                List<InventoryTransactionResponse> responses = filteredList.stream()
-                                .map(this::mapToResponse)
-                                .collect(Collectors.toList());
-
-                Page<InventoryTransactionResponse> responsePage = new PageImpl<>(
-                                responses,
-                                pageable,
-                                filteredList.size());
+                InventoryTransactionFilter filter = InventoryTransactionFilter.builder()
+                                .type(parseType(type))
+                                .reason(parseReason(reason))
+                                .productId(productId)
+                                .categoryId(categoryId)
+                                .productSize(productSize)
+                                .productTag(productTag)
+                                .performedById(performedById)
+                                .startDate(startDate)
+                                .endDate(endDate)
+                                .build();
+
+                // Sahifa va statistika DB tomonda hisoblanadi
+                Page<InventoryTransactionResponse> responsePage = inventoryTransactionRepository
+                                .findAll(buildSpecification(filter), pageable)
+                                .map(this::mapToResponse);
+                InventoryTransactionStats stats = inventoryTransactionRepository.aggregateStats(filter);
 
                 return org.exp.primeapp.models.dto.response.InventoryTransactionPageResponse.builder()
                                 .transactions(responsePage)
-                                .totalTransactionsCount(totalCount)
-                                .inTransactionsCount(inCount)
-                                .outTransactionsCount(outCount)
-                                .returningCount(returningCount)
-                                .productTagCounts(tagCounts)
+                                .totalTransactionsCount(stats.totalCount())
+                                .inTransactionsCount(stats.inCount())
+                                .outTransactionsCount(stats.outCount())
+                                .returningCount(stats.returningCount())
+                                .productTagCounts(stats.productTagCounts())
                                 .build();
         }
+
+        /**
+         * Build Specification from filter - only non-null fields become predicates
+         */
+        private Specification<InventoryTransaction> buildSpecification(InventoryTransactionFilter filter) {
+                return (root, query, cb) -> {
+                        List<Predicate> predicates = new ArrayList<>();
+
+                        if (filter.type() != null) {
+                                predicates.add(cb.equal(root.get("type"), filter.type()));
+                        }
+                        if (filter.reason() != null) {
+                                predicates.add(cb.equal(root.get("reason"), filter.reason()));
+                        }
+                        if (filter.productId() != null) {
+                                predicates.add(cb.equal(root.get("product").get("id"), filter.productId()));
+                        }
+                        if (filter.categoryId() != null) {
+                                predicates.add(cb.equal(root.get("product").get("category").get("id"),
+                                                filter.categoryId()));
+                        }
+                        if (filter.customerId() != null) {
+                                predicates.add(cb.equal(root.get("customer").get("id"), filter.customerId()));
+                        }
+                        if (filter.productSize() != null) {
+                                predicates.add(cb.equal(root.get("productSize"), filter.productSize()));
+                        }
+                        if (filter.productTag() != null) {
+                                predicates.add(cb.equal(root.get("productTag"), filter.productTag()));
+                        }
+                        if (filter.performedById() != null) {
+                                predicates.add(cb.equal(root.get("performedBy").get("id"), filter.performedById()));
+                        }
+                        if (filter.startDate() != null) {
+                                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.startDate()));
+                        }
+                        if (filter.endDate() != null) {
+                                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), filter.endDate()));
+                        }
+
+                        return cb.and(predicates.toArray(new Predicate[0]));
+                };
+        }
+
+        private TransactionType parseType(String type) {
+                if (type == null || type.isBlank()) {
+                        return null;
+                }
+                try {
+                        return TransactionType.valueOf(type.toUpperCase());
+                } catch (IllegalArgumentException e) {
+                        log.warn("Invalid transaction type filter ignored: {}", type);
+                        return null;
+                }
+        }
+
+        private TransactionReason parseReason(String reason) {
+                if (reason == null || reason.isBlank()) {
+                        return null;
+                }
+                try {
+                        return TransactionReason.valueOf(reason.toUpperCase());
+                } catch (IllegalArgumentException e) {
+                        log.warn("Invalid transaction reason filter ignored: {}", reason);
+                        return null;
+                }
+        }
 }
@@ -11,9 +11,11 @@ import org.exp.primeapp.models.entities.Order;
 import org.exp.primeapp.models.entities.OrderItem;
 import org.exp.primeapp.models.entities.ProductSize;
 import org.exp.primeapp.models.enums.OrderStatus;
+import org.exp.primeapp.models.events.ProductChangedEvent;
 import org.exp.primeapp.repository.OrderRepository;
 import org.exp.primeapp.repository.ProductSizeRepository;
 import org.exp.primeapp.service.face.admin.order.AdminOrderService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -28,6 +30,7 @@ public class AdminOrderServiceImpl implements AdminOrderService {
 
         private final OrderRepository orderRepository;
         private final ProductSizeRepository productSizeRepository;
+        private final ApplicationEventPublisher eventPublisher;
 
         private static final int DAYS_FILTER = 10;
         private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
@@ -140,6 +143,7 @@ public class AdminOrderServiceImpl implements AdminOrderService {
                         ps.setQuantity(ps.getQuantity() - item.getQuantity());
                         productSizeRepository.save(ps);
                 }
+                publishStockChanged(order);
         }
 
         private void checkStockAvailability(Order order) {
@@ -170,6 +174,13 @@ public class AdminOrderServiceImpl implements AdminOrderService {
                         ps.setQuantity(ps.getQuantity() + item.getQuantity());
                         productSizeRepository.save(ps);
                 }
+                publishStockChanged(order);
+        }
+
+        private void publishStockChanged(Order order) {
+                eventPublisher.publishEvent(new ProductChangedEvent(order.getItems().stream()
+                                .map(item -> item.getProduct().getId())
+                                .collect(Collectors.toSet())));
         }
 
         private void updateStatusTimestamps(Order order, OrderStatus status) {
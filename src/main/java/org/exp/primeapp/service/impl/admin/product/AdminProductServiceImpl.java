@@ -2,6 +2,7 @@ package org.exp.primeapp.service.impl.admin.product;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.exp.primeapp.configs.cache.CoalescedRead;
 import org.exp.primeapp.models.dto.request.ProductReq;
 import org.exp.primeapp.models.dto.responce.admin.AdminProductDashboardRes;
 import org.exp.primeapp.models.dto.responce.admin.AdminProductRes;
@@ -10,13 +11,17 @@ import org.exp.primeapp.models.dto.responce.user.ProductSizeRes;
 import org.exp.primeapp.models.entities.*;
 import org.exp.primeapp.models.enums.ProductStatus;
 import org.exp.primeapp.models.enums.ProductTag;
+import org.exp.primeapp.models.events.ProductCardsRebuiltEvent;
+import org.exp.primeapp.models.events.ProductChangedEvent;
 import org.exp.primeapp.repository.AttachmentRepository;
 import org.exp.primeapp.repository.CategoryRepository;
 import org.exp.primeapp.repository.InventoryTransactionRepository;
 import org.exp.primeapp.repository.ProductRepository;
 import org.exp.primeapp.service.face.admin.product.AdminProductService;
+import org.exp.primeapp.service.impl.user.ProductCardSync;
 import org.exp.primeapp.service.impl.user.ProductServiceImpl;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -36,8 +41,11 @@ public class AdminProductServiceImpl implements AdminProductService {
     private final CategoryRepository categoryRepository;
     private final AttachmentRepository attachmentRepository;
     private final InventoryTransactionRepository inventoryTransactionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductCardSync productCardSync;
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
 
+    @CoalescedRead("admin-product-dashboard")
     @Override
     @Transactional
     public AdminProductDashboardRes getProductDashboardRes() {
@@ -83,14 +91,24 @@ public class AdminProductServiceImpl implements AdminProductService {
         productRepository.toggleProductUpdateStatus(productId);
         Product product = productRepository.findById(productId)
                 .orElseThrow();
+        eventPublisher.publishEvent(ProductChangedEvent.of(productId));
         return convertToAdminProductRes(product);
     }
 
     @Override
     public List<ProductPageRes> getProductListForIncome() {
-        return productRepository.findAll().stream()
-                .map(productServiceImpl::convertToProductPageRes)
-                .toList();
+        return productServiceImpl.convertCardsToProductPageResList(productRepository.findAllCards());
+    }
+
+    /**
+     * product_cards shu transaction'da to'liq qayta yig'iladi,
+     * commit'dan keyin kartalardan o'qiydigan index'lar va cache'lar ham butunlay yangilanadi
+     */
+    @Transactional
+    @Override
+    public void rebuildProductCards() {
+        productCardSync.rebuild();
+        eventPublisher.publishEvent(new ProductCardsRebuiltEvent());
     }
 
     @Transactional
@@ -155,6 +173,7 @@ public class AdminProductServiceImpl implements AdminProductService {
         // Attachments ga product_id ni set qilamiz
         attachments.forEach(attachment -> attachment.setProduct(savedProduct));
         attachmentRepository.saveAll(attachments);
+        eventPublisher.publishEvent(ProductChangedEvent.of(savedProduct.getId()));
 
         return convertToAdminProductRes(savedProduct);
     }
@@ -190,6 +209,7 @@ public class AdminProductServiceImpl implements AdminProductService {
                 .orElseThrow(() -> new RuntimeException("Product not found with productId: " + productId));
         updateProductFields(product, productReq);
         Product updatedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(productId));
         return convertToAdminProductRes(updatedProduct);
     }
 
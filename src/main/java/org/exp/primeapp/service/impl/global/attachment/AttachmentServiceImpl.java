@@ -9,6 +9,7 @@ import org.exp.primeapp.models.dto.responce.global.AttachmentRes;
 import org.exp.primeapp.models.entities.Attachment;
 import org.exp.primeapp.repository.AttachmentRepository;
 import org.exp.primeapp.service.face.global.attachment.AttachmentService;
+import org.exp.primeapp.utils.FileDeliveryUtil;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -16,7 +17,6 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,6 +26,7 @@ import java.util.stream.Collectors;
 public class AttachmentServiceImpl implements AttachmentService {
 
     private final AttachmentRepository attachmentRepository;
+    private final FileDeliveryUtil fileDeliveryUtil;
 
     @Value("${attachment.max.file.size.mb}")
     private Long maxFileSizeMB;
@@ -43,12 +44,9 @@ public class AttachmentServiceImpl implements AttachmentService {
                 return;
             }
 
-            // Simple check: if file exists?
-            // Assuming attachmentUrl is "filename.ext" or "UUID.ext"
-            // If DB entry exists, try to get file.
-
-            byte[] fileContent = getFileContent(attachment.getFilename()); // Assuming filename is stored
-            if (fileContent == null) {
+            // Disk'dagi nom URL'ning oxirgi qismi (UUID_timestamp.ext), topilmasa filename
+            Path filePath = resolveFilePath(attachment);
+            if (filePath == null) {
                 response.setStatus(HttpServletResponse.SC_NOT_FOUND);
                 return;
             }
@@ -57,12 +55,12 @@ public class AttachmentServiceImpl implements AttachmentService {
                     ? attachment.getOriginalFilename()
                     : attachment.getFilename();
 
-            response.setContentType(attachment.getContentType() != null ? attachment.getContentType() : "image/jpeg");
-            response.setHeader("Content-Disposition",
-                    "inline; filename=\"" + (filename != null ? filename : "attachment") + "\"");
-            response.setContentLength(fileContent.length);
-            response.getOutputStream().write(fileContent);
-            response.getOutputStream().flush();
+            fileDeliveryUtil.serve(
+                    filePath,
+                    attachment.getContentType() != null ? attachment.getContentType() : "image/jpeg",
+                    filename != null ? filename : "attachment",
+                    request,
+                    response);
         } catch (IOException e) {
             log.error("Failed to fetch file for attachment URL {}: {}", attachmentUrl, e.getMessage());
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
@@ -70,15 +68,19 @@ public class AttachmentServiceImpl implements AttachmentService {
         }
     }
 
-    private byte[] getFileContent(String filename) throws IOException {
-        if (filename == null || filename.isBlank()) {
-            throw new IllegalArgumentException("Filename cannot be null or empty");
+    private Path resolveFilePath(Attachment attachment) {
+        String url = attachment.getUrl();
+        if (url != null && url.contains("/")) {
+            Path stored = fileDeliveryUtil.resolveInside(attachmentFolderPath, url.substring(url.lastIndexOf('/') + 1));
+            if (stored != null && Files.isRegularFile(stored)) {
+                return stored;
+            }
         }
-        Path filePath = Paths.get(attachmentFolderPath, filename);
-        if (!Files.exists(filePath)) {
+        if (attachment.getFilename() == null || attachment.getFilename().isBlank()) {
             return null;
         }
-        return Files.readAllBytes(filePath);
+        Path byFilename = fileDeliveryUtil.resolveInside(attachmentFolderPath, attachment.getFilename());
+        return byFilename != null && Files.isRegularFile(byFilename) ? byFilename : null;
     }
 
     @Override
@@ -11,17 +11,21 @@ import org.exp.primeapp.models.dto.responce.global.LoginRes;
 import org.exp.primeapp.models.dto.responce.order.UserProfileOrdersRes;
 import org.exp.primeapp.models.dto.responce.user.UserRes;
 import org.exp.primeapp.models.entities.User;
+import org.exp.primeapp.models.events.UserChangedEvent;
 import org.exp.primeapp.repository.UserRepository;
 import org.exp.primeapp.service.face.global.auth.AuthService;
 import org.exp.primeapp.service.face.user.OrderService;
 import org.exp.primeapp.utils.IpAddressUtil;
 import org.exp.primeapp.utils.UserUtil;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -32,6 +36,9 @@ public class AuthServiceImpl implements AuthService {
     private final OrderService orderService;
     private final UserUtil userUtil;
     private final IpAddressUtil ipAddressUtil;
+    private final OtpCodeStore otpCodeStore;
+    private final LoginAttemptLimiter loginAttemptLimiter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${cookie.max.age}")
     private Integer cookieMaxAge;
@@ -46,18 +53,25 @@ public class AuthServiceImpl implements AuthService {
     @Override
     public LoginRes verifyWithCodeAndSendUserData(Integer code, HttpServletResponse response,
             HttpServletRequest request) {
-        User user = userRepository.findOneByVerifyCode(code);
+        // Limiter kaliti - client o'zgartira olmaydigan manzil (X-Forwarded-For emas)
+        String limiterKey = ipAddressUtil.getTrustedClientIpAddress(request);
+        loginAttemptLimiter.checkAllowed(limiterKey);
+
+        User user = findUserByActiveCode(code);
 
         if (user == null) {
+            loginAttemptLimiter.recordFailure(limiterKey);
             throw new IllegalArgumentException("Code noto'g'ri");
         }
 
         if (user.getVerifyCodeExpiration().isBefore(LocalDateTime.now())) {
+            loginAttemptLimiter.recordFailure(limiterKey);
             throw new IllegalArgumentException("Code expired");
         }
+        loginAttemptLimiter.reset(limiterKey);
+        String clientIp = ipAddressUtil.getClientIpAddress(request);
 
         // Update User info (IP and Browser)
-        String clientIp = ipAddressUtil.getClientIpAddress(request);
         String browserInfo = request.getHeader("User-Agent");
 
         user.setIp(clientIp);
@@ -67,6 +81,8 @@ public class AuthServiceImpl implements AuthService {
         String token = jwtService.generateToken(user, request);
 
         userRepository.save(user);
+        // Cache'dagi principal login'dan oldingi holatda qolmasligi uchun
+        eventPublisher.publishEvent(UserChangedEvent.ofUserId(user.getId()));
 
         jwtService.setJwtCookie(token, cookieNameUser, response, request);
 
@@ -119,15 +135,32 @@ public class AuthServiceImpl implements AuthService {
         response.addCookie(cookieAdmin);
     }
 
+    /**
+     * Kod egasini topadi: avval in-memory indeks (telegramId bo'yicha, unique), bo'lmasa indekslangan DB query.
+     * Bir nechta user'da bir xil aktiv kod bo'lsa (eski ma'lumot) kod qabul qilinmaydi.
+     */
+    private User findUserByActiveCode(Integer code) {
+        if (code == null) {
+            return null;
+        }
+        Optional<Long> telegramId = otpCodeStore.findTelegramId(code);
+        if (telegramId.isPresent()) {
+            return userRepository.findByTelegramId(telegramId.get())
+                    .filter(user -> code.equals(user.getVerifyCode()))
+                    .orElse(null);
+        }
+
+        List<User> matches = userRepository.findAllActiveByVerifyCode(code, LocalDateTime.now());
+        if (matches.size() > 1) {
+            log.warn("Ambiguous OTP code shared by {} users, rejecting", matches.size());
+        }
+        return matches.size() == 1 ? matches.getFirst() : null;
+    }
+
     private long getAccessTokenExpiryDays(String token) {
         try {
-            io.jsonwebtoken.Claims claims = io.jsonwebtoken.Jwts.parser()
-                    .verifyWith(jwtService.getSecretKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-
-            java.util.Date expiration = claims.getExpiration();
+            io.jsonwebtoken.Claims claims = jwtService.parseClaims(token);
+            java.util.Date expiration = claims != null ? claims.getExpiration() : null;
             if (expiration == null) {
                 return 0;
             }
@@ -0,0 +1,75 @@
+package org.exp.primeapp.service.impl.global.auth;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * IP bo'yicha noto'g'ri OTP urinishlarini cheklaydi (fixed window).
+ * 6 xonali kodni brute-force qilishning oldini oladi. Barcha IP'lar bo'yicha umumiy son faqat signal:
+ * chegaradan oshsa warning log yoziladi, lekin hech kim bloklanmaydi - boshqalarning xatolari
+ * to'g'ri kod kiritgan foydalanuvchiga 429 bermasligi kerak.
+ */
+@Slf4j
+@Component
+public class LoginAttemptLimiter {
+
+    private record Window(int failures, long startedAtMillis) {
+    }
+
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+    private final AtomicReference<Window> globalWindow = new AtomicReference<>(new Window(0, 0));
+
+    @Value("${app.auth.otp.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.auth.otp.global-failure-alert-threshold:200}")
+    private int globalFailureAlertThreshold;
+
+    @Value("${app.auth.otp.attempt-window-seconds:300}")
+    private long windowSeconds;
+
+    public void checkAllowed(String ip) {
+        long now = System.currentTimeMillis();
+        Window window = windows.get(ip);
+        if (window != null && !isExpired(window, now) && window.failures() >= maxAttempts) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Juda ko'p urinish. Birozdan keyin qayta urinib ko'ring");
+        }
+    }
+
+    public void recordFailure(String ip) {
+        long now = System.currentTimeMillis();
+        windows.merge(ip, new Window(1, now), (current, fresh) -> increment(current, now));
+        Window global = globalWindow.updateAndGet(current -> increment(current, now));
+        // Oynada bir marta - taqsimlangan brute-force'ga ishora
+        if (global.failures() == globalFailureAlertThreshold) {
+            log.warn("{} failed OTP attempts across all IPs in the last {} s", global.failures(), windowSeconds);
+        }
+    }
+
+    public void reset(String ip) {
+        windows.remove(ip);
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        windows.values().removeIf(window -> isExpired(window, now));
+    }
+
+    private Window increment(Window current, long nowMillis) {
+        return isExpired(current, nowMillis) ? new Window(1, nowMillis)
+                : new Window(current.failures() + 1, current.startedAtMillis());
+    }
+
+    private boolean isExpired(Window window, long nowMillis) {
+        return nowMillis - window.startedAtMillis() >= windowSeconds * 1000;
+    }
+}
@@ -0,0 +1,119 @@
+package org.exp.primeapp.service.impl.global.auth;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.exp.primeapp.repository.UserRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aktiv OTP kodlar uchun in-memory indeks: kod -> telegramId (TTL bilan).
+ * Kod ajratilayotganda aktiv kodlar bilan to'qnashmasligi kafolatlanadi.
+ * DB asosiy manba bo'lib qoladi - startup'da aktiv kodlar DB'dan yuklanadi.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OtpCodeStore {
+
+    private record ActiveCode(Long telegramId, long expiresAtMillis) {
+        boolean isExpired(long nowMillis) {
+            return expiresAtMillis <= nowMillis;
+        }
+    }
+
+    private static final int CODE_MIN = 100000;
+    private static final int CODE_RANGE = 900000;
+
+    private final UserRepository userRepository;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private final ConcurrentHashMap<Integer, ActiveCode> codes = new ConcurrentHashMap<>();
+    // Har bir user'ning oxirgi kodi - yangi kod berilganda eskisi indeksdan o'chiriladi
+    private final ConcurrentHashMap<Long, Integer> codeByTelegramId = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveCodes() {
+        List<Object[]> activeCodes = userRepository.findActiveVerifyCodes(LocalDateTime.now());
+        for (Object[] row : activeCodes) {
+            Integer code = (Integer) row[0];
+            Long telegramId = (Long) row[1];
+            codes.put(code, new ActiveCode(telegramId, toMillis((LocalDateTime) row[2])));
+            codeByTelegramId.put(telegramId, code);
+        }
+        log.info("OTP code index loaded with {} active codes", activeCodes.size());
+    }
+
+    /**
+     * Hozir aktiv bo'lmagan 6 xonali kod ajratadi va uni user'ga bog'laydi
+     */
+    public Integer issue(Long telegramId, LocalDateTime expiresAt) {
+        ActiveCode entry = new ActiveCode(telegramId, toMillis(expiresAt));
+        while (true) {
+            int candidate = CODE_MIN + secureRandom.nextInt(CODE_RANGE);
+            long now = System.currentTimeMillis();
+            boolean[] allocated = new boolean[1];
+            codes.compute(candidate, (code, current) -> {
+                if (current == null || current.isExpired(now)) {
+                    allocated[0] = true;
+                    return entry;
+                }
+                return current;
+            });
+            if (!allocated[0]) {
+                continue;
+            }
+
+            Integer previous = codeByTelegramId.put(telegramId, candidate);
+            if (previous != null && previous != candidate) {
+                codes.computeIfPresent(previous,
+                        (code, current) -> current.telegramId().equals(telegramId) ? null : current);
+            }
+            return candidate;
+        }
+    }
+
+    /**
+     * Aktiv kod egasining telegramId'si; indeksda bo'lmasa yoki muddati o'tgan bo'lsa empty
+     */
+    public Optional<Long> findTelegramId(Integer code) {
+        if (code == null) {
+            return Optional.empty();
+        }
+        ActiveCode entry = codes.get(code);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            codes.remove(code, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.telegramId());
+    }
+
+    // Muddati o'tgan kodlarni tozalash - faqat xotira, DB'ga so'rov yo'q
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        codes.entrySet().removeIf(e -> {
+            if (!e.getValue().isExpired(now)) {
+                return false;
+            }
+            codeByTelegramId.remove(e.getValue().telegramId(), e.getKey());
+            return true;
+        });
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,284 @@
+package org.exp.primeapp.service.impl.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.exp.primeapp.models.dto.responce.user.SuggestionRes;
+import org.exp.primeapp.models.entities.Category;
+import org.exp.primeapp.models.enums.CategoryStatus;
+import org.exp.primeapp.models.enums.ProductStatus;
+import org.exp.primeapp.models.enums.SuggestionType;
+import org.exp.primeapp.models.events.CategoryChangedEvent;
+import org.exp.primeapp.models.events.ProductChangedEvent;
+import org.exp.primeapp.repository.CategoryRepository;
+import org.exp.primeapp.repository.ProductRepository;
+import org.exp.primeapp.utils.TransliterationUtil;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Search-as-you-type uchun in-memory prefix index: product nomlari, brand'lar va ACTIVE category'lar.
+ * Kalitlar (har bir so'z boshidan boshlanuvchi qism) sort qilingan massivda, prefix binary search bilan topiladi.
+ * Takliflar salesCount bo'yicha tartiblangan - so'rovlar DB'ga tushmaydi.
+ * O'zgarishda faqat o'zgargan mahsulotlar DB'dan o'qiladi, index xotiradagi ma'lumotdan qayta yig'iladi.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AutocompleteIndex {
+
+    public static final int MAX_LIMIT = 20;
+    // Shu uzunlikkacha prefikslar uchun top takliflar oldindan hisoblanadi - ular juda ko'p kalitga mos keladi
+    private static final int SHORT_PREFIX_LENGTH = 2;
+    private static final int MAX_KEY_LENGTH = 40;
+
+    private record ProductEntry(Long id, String name, String brand, long salesCount, Long categoryId) {
+    }
+
+    private record Suggestion(String text, SuggestionType type, Long id, long score) {
+    }
+
+    /**
+     * keys[i] -> suggestions[suggestionIndexes[i]]. Suggestion indeksi = score bo'yicha o'rni (0 - eng yuqori)
+     */
+    private record Snapshot(String[] keys, int[] suggestionIndexes, Suggestion[] suggestions,
+                            Map<String, int[]> shortPrefixTop) {
+    }
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransliterationUtil transliterationUtil;
+
+    // Faqat synchronized metodlar ichida o'zgartiriladi
+    private final Map<Long, ProductEntry> products = new HashMap<>();
+    private final Map<Long, Category> categories = new HashMap<>();
+
+    private volatile Snapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.autocomplete.rebuild-interval-ms:600000}",
+            initialDelayString = "${app.autocomplete.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        update(event.productIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCategoryChanged(CategoryChangedEvent event) {
+        try {
+            // Category'lar kam - hammasi qayta o'qiladi, mahsulotlar o'zgarmaydi
+            loadCategories();
+            snapshot = buildSnapshot();
+        } catch (Exception e) {
+            log.error("Failed to update autocomplete categories: {}", e.getMessage());
+        }
+    }
+
+    public synchronized void rebuild() {
+        try {
+            products.clear();
+            putProducts(productRepository.findSuggestionRowsByStatus(ProductStatus.ON_SALE));
+            loadCategories();
+            snapshot = buildSnapshot();
+            log.info("Autocomplete index rebuilt with {} suggestions", snapshot.suggestions().length);
+        } catch (Exception e) {
+            log.error("Failed to rebuild autocomplete index: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void update(Set<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return;
+        }
+        try {
+            Map<Long, ProductEntry> fresh = new HashMap<>();
+            for (Object[] row : productRepository.findSuggestionRowsByStatusAndIdIn(ProductStatus.ON_SALE, productIds)) {
+                ProductEntry entry = toEntry(row);
+                fresh.put(entry.id(), entry);
+            }
+            // Nom, brand, sotuvlar va category o'zgarmagan bo'lsa (masalan stock yozuvi) snapshot qayta yig'ilmaydi
+            if (productIds.stream().allMatch(id -> Objects.equals(products.get(id), fresh.get(id)))) {
+                return;
+            }
+            productIds.forEach(products::remove);
+            // ON_SALE bo'lmaganlari natijada yo'q - index'dan chiqib ketadi
+            products.putAll(fresh);
+            snapshot = buildSnapshot();
+        } catch (Exception e) {
+            log.error("Failed to update autocomplete index for products {}: {}", productIds, e.getMessage());
+        }
+    }
+
+    /**
+     * Prefix bo'yicha eng ko'p sotilganlar tartibida takliflar
+     */
+    public List<SuggestionRes> suggest(String prefix, int limit) {
+        Snapshot current = snapshot;
+        String normalized = normalize(prefix);
+        if (current == null || normalized.isEmpty()) {
+            return List.of();
+        }
+        if (normalized.length() > MAX_KEY_LENGTH) {
+            normalized = normalized.substring(0, MAX_KEY_LENGTH);
+        }
+        int count = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        if (normalized.length() <= SHORT_PREFIX_LENGTH) {
+            int[] top = current.shortPrefixTop().getOrDefault(normalized, new int[0]);
+            return Arrays.stream(top).limit(count).mapToObj(index -> toRes(current.suggestions()[index])).toList();
+        }
+
+        // Bitta taklif bir nechta kalit orqali mos kelishi mumkin - BitSet dedupe va tartibni beradi
+        BitSet matches = new BitSet(current.suggestions().length);
+        String[] keys = current.keys();
+        for (int i = lowerBound(keys, normalized); i < keys.length && keys[i].startsWith(normalized); i++) {
+            matches.set(current.suggestionIndexes()[i]);
+        }
+
+        List<SuggestionRes> result = new ArrayList<>(count);
+        for (int index = matches.nextSetBit(0); index >= 0 && result.size() < count;
+             index = matches.nextSetBit(index + 1)) {
+            result.add(toRes(current.suggestions()[index]));
+        }
+        return result;
+    }
+
+    private void putProducts(List<Object[]> rows) {
+        for (Object[] row : rows) {
+            ProductEntry entry = toEntry(row);
+            products.put(entry.id(), entry);
+        }
+    }
+
+    private ProductEntry toEntry(Object[] row) {
+        long salesCount = row[3] != null ? ((Number) row[3]).longValue() : 0;
+        return new ProductEntry((Long) row[0], (String) row[1], (String) row[2], salesCount, (Long) row[4]);
+    }
+
+    private void loadCategories() {
+        categories.clear();
+        categoryRepository.findByStatusOrderByOrderNumberAsc(CategoryStatus.ACTIVE)
+                .forEach(category -> categories.put(category.getId(), category));
+    }
+
+    private Snapshot buildSnapshot() {
+        List<Suggestion> suggestions = new ArrayList<>();
+
+        // Brand va category reytingi - ularning ON_SALE mahsulotlari sotuvlari yig'indisi
+        Map<String, Long> brandSales = new HashMap<>();
+        Map<String, String> brandTexts = new HashMap<>();
+        Map<Long, Long> categorySales = new HashMap<>();
+        for (ProductEntry product : products.values()) {
+            suggestions.add(new Suggestion(product.name(), SuggestionType.PRODUCT, product.id(), product.salesCount()));
+            if (product.brand() != null && !product.brand().isBlank()) {
+                String brandKey = normalize(product.brand());
+                brandSales.merge(brandKey, product.salesCount(), Long::sum);
+                brandTexts.putIfAbsent(brandKey, product.brand().strip());
+            }
+            categorySales.merge(product.categoryId(), product.salesCount(), Long::sum);
+        }
+        brandSales.forEach((brandKey, sales) ->
+                suggestions.add(new Suggestion(brandTexts.get(brandKey), SuggestionType.BRAND, null, sales)));
+        categories.values().forEach(category -> suggestions.add(new Suggestion(
+                category.getName(), SuggestionType.CATEGORY, category.getId(),
+                categorySales.getOrDefault(category.getId(), 0L))));
+
+        suggestions.sort(Comparator.comparingLong(Suggestion::score).reversed()
+                .thenComparing(Suggestion::text, Comparator.nullsLast(Comparator.naturalOrder())));
+        Suggestion[] ranked = suggestions.toArray(new Suggestion[0]);
+
+        record Key(String key, int suggestionIndex) {
+        }
+        List<Key> keyList = new ArrayList<>();
+        Map<String, List<Integer>> shortPrefixLists = new HashMap<>();
+        for (int index = 0; index < ranked.length; index++) {
+            for (String key : keysOf(ranked[index].text())) {
+                keyList.add(new Key(key, index));
+                for (int length = 1; length <= Math.min(SHORT_PREFIX_LENGTH, key.length()); length++) {
+                    // index o'sish tartibida - ro'yxat o'zi score bo'yicha tartiblangan
+                    List<Integer> top = shortPrefixLists.computeIfAbsent(key.substring(0, length),
+                            prefix -> new ArrayList<>());
+                    if (top.size() < MAX_LIMIT && !top.contains(index)) {
+                        top.add(index);
+                    }
+                }
+            }
+        }
+        keyList.sort(Comparator.comparing(Key::key));
+
+        String[] keys = new String[keyList.size()];
+        int[] suggestionIndexes = new int[keyList.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = keyList.get(i).key();
+            suggestionIndexes[i] = keyList.get(i).suggestionIndex();
+        }
+        Map<String, int[]> shortPrefixTop = new HashMap<>();
+        shortPrefixLists.forEach((prefix, top) ->
+                shortPrefixTop.put(prefix, top.stream().mapToInt(Integer::intValue).toArray()));
+
+        return new Snapshot(keys, suggestionIndexes, ranked, shortPrefixTop);
+    }
+
+    /**
+     * Matnning har bir so'zidan boshlanuvchi qismlari: "nike air max" -> "nike air max", "air max", "max"
+     */
+    private List<String> keysOf(String text) {
+        String normalized = normalize(text);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            boolean wordStart = i == 0 || !Character.isLetterOrDigit(normalized.charAt(i - 1));
+            if (wordStart && Character.isLetterOrDigit(normalized.charAt(i))) {
+                String key = normalized.substring(i);
+                keys.add(key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key);
+            }
+        }
+        return keys;
+    }
+
+    // Kirill va lotinda yozilgan matn bir xil kalitga tushadi
+    private String normalize(String text) {
+        return transliterationUtil.normalize(text);
+    }
+
+    private static int lowerBound(String[] keys, String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private SuggestionRes toRes(Suggestion suggestion) {
+        return SuggestionRes.builder()
+                .text(suggestion.text())
+                .type(suggestion.type())
+                .id(suggestion.id())
+                .build();
+    }
+}
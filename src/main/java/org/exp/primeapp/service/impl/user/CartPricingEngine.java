@@ -0,0 +1,153 @@
+package org.exp.primeapp.service.impl.user;
+
+import lombok.RequiredArgsConstructor;
+import org.exp.primeapp.models.dto.request.CartItemReq;
+import org.exp.primeapp.models.dto.responce.user.CartPriceRes;
+import org.exp.primeapp.models.dto.responce.user.ProductCartRes;
+import org.exp.primeapp.models.entities.Product;
+import org.exp.primeapp.models.entities.ProductSize;
+import org.exp.primeapp.models.enums.Size;
+import org.exp.primeapp.repository.AttachmentRepository;
+import org.exp.primeapp.repository.ProductRepository;
+import org.exp.primeapp.repository.ProductSizeRepository;
+import org.exp.primeapp.utils.PriceUtil;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Savatni narxlash: savatdagi barcha product'lar, size'lar va asosiy rasmlar qator soniga bog'liq bo'lmagan
+ * holda uchta IN (...) query bilan olinadi. Qator summalari va savat summasi bitta o'tishda hisoblanadi.
+ * Natijada imzolangan quote token ham bor - checkout product'ning narx versiyasi o'zgarmagan qatorlar uchun
+ * shu narxlarni qayta hisoblamasdan ishlatadi.
+ */
+@Component
+@RequiredArgsConstructor
+public class CartPricingEngine {
+
+    private final ProductRepository productRepository;
+    private final ProductSizeRepository productSizeRepository;
+    private final AttachmentRepository attachmentRepository;
+    private final PriceQuoteSigner priceQuoteSigner;
+    private final PriceUtil priceUtil;
+
+    @Transactional(readOnly = true)
+    public CartPriceRes price(List<CartItemReq> cartItems) {
+        if (cartItems == null || cartItems.isEmpty()) {
+            return new CartPriceRes(List.of(), BigDecimal.ZERO, true, null);
+        }
+
+        Set<Long> productIds = new LinkedHashSet<>();
+        for (CartItemReq cartItem : cartItems) {
+            if (cartItem.productId() != null) {
+                productIds.add(cartItem.productId());
+            }
+        }
+
+        Map<Long, Product> products = new HashMap<>();
+        Map<Long, Map<Size, ProductSize>> sizes = new HashMap<>();
+        Map<Long, String> mainImages = new HashMap<>();
+        if (!productIds.isEmpty()) {
+            productRepository.findAllById(productIds).forEach(product -> products.put(product.getId(), product));
+            // product LAZY - getId() proxy'ni yuklamaydi
+            for (ProductSize productSize : productSizeRepository.findAllByProductIdIn(productIds)) {
+                sizes.computeIfAbsent(productSize.getProduct().getId(), id -> new EnumMap<>(Size.class))
+                        .put(productSize.getSize(), productSize);
+            }
+            // Natija id bo'yicha tartiblangan - birinchisi asosiy rasm
+            for (Object[] row : attachmentRepository.findUrlsByProductIdIn(productIds)) {
+                mainImages.putIfAbsent((Long) row[0], (String) row[1]);
+            }
+        }
+
+        List<ProductCartRes> items = new ArrayList<>(cartItems.size());
+        List<PriceQuote.Line> quoteLines = new ArrayList<>(cartItems.size());
+        BigDecimal cartTotal = BigDecimal.ZERO;
+        boolean allAvailable = true;
+        for (CartItemReq cartItem : cartItems) {
+            ProductCartRes line = priceLine(cartItem, products.get(cartItem.productId()),
+                    sizes.getOrDefault(cartItem.productId(), Map.of()), mainImages.get(cartItem.productId()),
+                    quoteLines);
+            items.add(line);
+            if (line.totalPrice() != null) {
+                cartTotal = cartTotal.add(line.totalPrice());
+            }
+            allAvailable &= Boolean.TRUE.equals(line.hasEnough());
+        }
+        String quoteToken = quoteLines.isEmpty() ? null : priceQuoteSigner.sign(List.copyOf(quoteLines));
+        return new CartPriceRes(List.copyOf(items), cartTotal, allAvailable, quoteToken);
+    }
+
+    private ProductCartRes priceLine(CartItemReq cartItem, Product product, Map<Size, ProductSize> productSizes,
+            String mainImage, List<PriceQuote.Line> quoteLines) {
+        Integer quantity = cartItem.productQuantity();
+        if (product == null) {
+            // Product topilmasa, hasEnough = false bilan bo'sh ma'lumotlar qaytarish
+            return new ProductCartRes(cartItem.productId(), null, null, null, null, cartItem.productSize(),
+                    null, null, null, false, null, quantity, null);
+        }
+
+        Size size = parseSize(cartItem.productSize());
+        ProductSize productSize = size != null ? productSizes.get(size) : null;
+
+        // available - tanlangan size'ning omborda mavjud soni, size topilmasa null
+        Integer available = productSize != null ? productSize.getQuantity() : null;
+        boolean hasEnough = available != null && quantity != null && available >= quantity;
+
+        BigDecimal price = product.getPrice();
+        BigDecimal discountPrice = priceUtil.unitPrice(product);
+
+        // totalPrice = quantity * discountPrice (discount bo'lmasa discountPrice = price)
+        BigDecimal totalPrice = quantity != null && quantity > 0 && discountPrice != null
+                ? discountPrice.multiply(BigDecimal.valueOf(quantity))
+                : null;
+
+        if (productSize != null && discountPrice != null) {
+            quoteLines.add(new PriceQuote.Line(product.getId(), productSize.getId(),
+                    discountPrice,
+                    PriceQuote.priceVersion(price, product.getDiscountPercent(), product.getTag())));
+        }
+
+        return new ProductCartRes(
+                product.getId(),
+                product.getName(),
+                product.getBrand(),
+                product.getColorName(),
+                product.getColorHex(),
+                size != null ? size.getLabel() : cartItem.productSize(),
+                price,
+                discountPrice,
+                mainImage,
+                hasEnough,
+                available,
+                quantity,
+                totalPrice);
+    }
+
+    /**
+     * Size enum name ("L", "SIZE_41") yoki label orqali
+     */
+    private Size parseSize(String sizeString) {
+        if (sizeString == null || sizeString.isBlank()) {
+            return null;
+        }
+        try {
+            return Size.valueOf(sizeString.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            for (Size size : Size.values()) {
+                if (size.getLabel().equalsIgnoreCase(sizeString)) {
+                    return size;
+                }
+            }
+            return null;
+        }
+    }
+}
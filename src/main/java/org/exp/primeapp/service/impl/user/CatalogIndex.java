@@ -0,0 +1,417 @@
+package org.exp.primeapp.service.impl.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.exp.primeapp.models.dto.request.ProductFacetFilter;
+import org.exp.primeapp.models.dto.responce.user.ProductFacetsRes;
+import org.exp.primeapp.models.enums.ProductTag;
+import org.exp.primeapp.models.events.CategoryChangedEvent;
+import org.exp.primeapp.models.events.ProductCardsRebuiltEvent;
+import org.exp.primeapp.models.events.ProductChangedEvent;
+import org.exp.primeapp.repository.ProductCardRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * ON_SALE mahsulotlar bo'yicha in-memory catalog index.
+ * Har bir filter qiymati uchun BitSet (bit = mahsulot slot'i), narx va chegirma primitive massivlarda,
+ * har bir sort tartibi oldindan hisoblangan - browse filter/sort/count DB'ga tushmaydi.
+ * O'zgarishlar copy-on-write: faqat o'zgargan mahsulotlar DB'dan o'qilib, yangi snapshot almashtiriladi.
+ * Index'lanadigan maydonlari o'zgarmagan event'lar (masalan size'lar soni o'zgarmagan stock yozuvlari) o'tkazib yuboriladi.
+ * Index tayyor bo'lmasa (startup, xatolik) chaqiruvchi SQL'ga qaytadi.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogIndex {
+
+    /**
+     * Filterlangan va sort qilingan sahifa: id'lar tartibda + umumiy son
+     */
+    public record CatalogPage(List<Long> productIds, long totalElements) {
+    }
+
+    private enum Dimension {CATEGORY, COLOR, SIZE, BRAND, TAG}
+
+    private final ProductCardRepository productCardRepository;
+
+    private volatile IndexData snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    // Event publish qilmaydigan yozuvlar uchun xavfsizlik to'ri
+    @Scheduled(fixedDelayString = "${app.catalog-index.rebuild-interval-ms:600000}",
+            initialDelayString = "${app.catalog-index.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    // Read cache'dan oldin yangilanadi - aks holda cache eski index natijasi bilan qayta to'lishi mumkin.
+    // ProductCardSync'dan keyin: index product_cards'dan o'qiydi
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        update(event.productIds());
+    }
+
+    // Category nomi / spotlight o'zgarishi ko'p mahsulotga tegadi - to'liq rebuild
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        rebuild();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductCardsRebuilt(ProductCardsRebuiltEvent event) {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        try {
+            IndexData data = new IndexData();
+            load(data, productCardRepository.findCatalogRows());
+            data.sort();
+            snapshot = data;
+            log.info("Catalog index rebuilt with {} products", data.slotById.size());
+        } catch (Exception e) {
+            snapshot = null;
+            log.error("Failed to rebuild catalog index: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void update(Set<Long> productIds) {
+        IndexData current = snapshot;
+        if (current == null || productIds == null || productIds.isEmpty()) {
+            return;
+        }
+        try {
+            List<Object[]> rows = productCardRepository.findCatalogRowsByIdIn(productIds);
+            if (current.containsExactly(productIds, rows)) {
+                // Copy va qayta sort O(N log N) - index'dagi qatorlar bir xil bo'lsa kerak emas
+                return;
+            }
+            IndexData data = current.copy();
+            productIds.forEach(data::remove);
+            // ON_SALE bo'lmagan mahsulotlar natijada yo'q - index'dan chiqib ketadi
+            load(data, rows);
+            data.sort();
+            snapshot = data;
+        } catch (Exception e) {
+            // Eski snapshot noto'g'ri natija berishi mumkin - keyingi rebuild'gacha SQL ishlatiladi
+            snapshot = null;
+            log.error("Failed to update catalog index for products {}: {}", productIds, e.getMessage());
+        }
+    }
+
+    private void load(IndexData data, List<Object[]> cardRows) {
+        for (Object[] row : cardRows) {
+            data.add(row);
+        }
+    }
+
+    /**
+     * Filter + sort bo'yicha sahifa. Index tayyor bo'lmasa empty.
+     */
+    public Optional<CatalogPage> query(ProductFacetFilter filter, ProductSortOrder sortOrder, long offset, int limit) {
+        IndexData data = snapshot;
+        if (data == null) {
+            return Optional.empty();
+        }
+
+        BitSet matches = data.matching(filter, null);
+        List<Long> productIds = new ArrayList<>(limit);
+        long skipped = 0;
+        for (int slot : data.sortedSlots.get(sortOrder)) {
+            if (productIds.size() == limit) {
+                break;
+            }
+            if (!matches.get(slot)) {
+                continue;
+            }
+            if (skipped < offset) {
+                skipped++;
+                continue;
+            }
+            productIds.add(data.productIds[slot]);
+        }
+        return Optional.of(new CatalogPage(productIds, matches.cardinality()));
+    }
+
+    /**
+     * Berilgan id'lardan filterga moslarini tartibni saqlab qaytaradi. Index tayyor bo'lmasa empty.
+     */
+    public Optional<List<Long>> retainMatching(ProductFacetFilter filter, List<Long> productIds) {
+        IndexData data = snapshot;
+        if (data == null) {
+            return Optional.empty();
+        }
+
+        BitSet matches = data.matching(filter, null);
+        return Optional.of(productIds.stream()
+                .filter(productId -> {
+                    Integer slot = data.slotById.get(productId);
+                    return slot != null && matches.get(slot);
+                })
+                .toList());
+    }
+
+    /**
+     * ProductRepository.aggregateFacets bilan bir xil natija - bitmap kesishmalaridan
+     */
+    public Optional<ProductFacetsRes> facets(ProductFacetFilter filter) {
+        IndexData data = snapshot;
+        if (data == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(ProductFacetsRes.builder()
+                .totalCount(data.matching(filter, null).cardinality())
+                .categories(data.facetCounts(filter, Dimension.CATEGORY, data.categories))
+                .colors(data.facetCounts(filter, Dimension.COLOR, data.colors))
+                .sizes(data.facetCounts(filter, Dimension.SIZE, data.sizes))
+                .brands(data.facetCounts(filter, Dimension.BRAND, data.brands))
+                .tags(data.facetCounts(filter, Dimension.TAG, data.tags))
+                .build());
+    }
+
+    /**
+     * Index ma'lumotlari. Faqat yozuvchi (synchronized) o'zgartiradi, o'quvchilar tayyor snapshot'ni ko'radi.
+     */
+    private static final class IndexData {
+
+        // slot -> product
+        private long[] productIds = new long[64];
+        private long[] priceCents = new long[64];
+        private int[] discounts = new int[64];
+        private final BitSet live;
+        private final Map<Long, Integer> slotById;
+        // product -> index'ga kirgan qator, o'zgarishni aniqlash uchun
+        private final Map<Long, List<Object>> rowById;
+
+        private final Map<String, BitSet> spotlights;
+        private final Map<String, BitSet> categories;
+        private final Map<String, BitSet> colors;
+        private final Map<String, BitSet> brands;
+        private final Map<String, BitSet> tags;
+        private final Map<String, BitSet> sizes;
+
+        private final Map<ProductSortOrder, int[]> sortedSlots = new EnumMap<>(ProductSortOrder.class);
+
+        IndexData() {
+            this.live = new BitSet();
+            this.slotById = new HashMap<>();
+            this.rowById = new HashMap<>();
+            this.spotlights = new HashMap<>();
+            this.categories = new HashMap<>();
+            this.colors = new HashMap<>();
+            this.brands = new HashMap<>();
+            this.tags = new HashMap<>();
+            this.sizes = new HashMap<>();
+        }
+
+        private IndexData(IndexData source) {
+            this.productIds = source.productIds.clone();
+            this.priceCents = source.priceCents.clone();
+            this.discounts = source.discounts.clone();
+            this.live = (BitSet) source.live.clone();
+            this.slotById = new HashMap<>(source.slotById);
+            this.rowById = new HashMap<>(source.rowById);
+            this.spotlights = deepCopy(source.spotlights);
+            this.categories = deepCopy(source.categories);
+            this.colors = deepCopy(source.colors);
+            this.brands = deepCopy(source.brands);
+            this.tags = deepCopy(source.tags);
+            this.sizes = deepCopy(source.sizes);
+        }
+
+        IndexData copy() {
+            return new IndexData(this);
+        }
+
+        /**
+         * productIds uchun index'dagi qatorlar DB'dagi rows bilan bir xil (yo'qlari ham yo'q)
+         */
+        boolean containsExactly(Set<Long> productIds, List<Object[]> rows) {
+            Map<Long, List<Object>> fresh = new HashMap<>();
+            for (Object[] row : rows) {
+                fresh.put((Long) row[0], Arrays.asList(row));
+            }
+            for (Long productId : productIds) {
+                if (!Objects.equals(rowById.get(productId), fresh.get(productId))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * row: [id, price, discountPercent, colorName, brand, tag, categoryName, spotlightName, sizes]
+         */
+        void add(Object[] row) {
+            Long productId = (Long) row[0];
+            remove(productId);
+
+            // Bo'shagan slot'lar qayta ishlatiladi
+            int slot = live.nextClearBit(0);
+            ensureCapacity(slot + 1);
+            live.set(slot);
+            slotById.put(productId, slot);
+            rowById.put(productId, Arrays.asList(row.clone()));
+
+            productIds[slot] = productId;
+            BigDecimal price = row[1] != null ? (BigDecimal) row[1] : BigDecimal.ZERO;
+            priceCents[slot] = price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+            discounts[slot] = row[2] != null ? (Integer) row[2] : 0;
+
+            setBit(colors, (String) row[3], slot);
+            setBit(brands, (String) row[4], slot);
+            setBit(tags, row[5] != null ? ((ProductTag) row[5]).name() : null, slot);
+            setBit(categories, (String) row[6], slot);
+            setBit(spotlights, (String) row[7], slot);
+            // product_cards.sizes - vergul bilan ajratilgan Size nomlari
+            String productSizes = (String) row[8];
+            if (productSizes != null && !productSizes.isEmpty()) {
+                for (String size : productSizes.split(",")) {
+                    setBit(sizes, size, slot);
+                }
+            }
+        }
+
+        void remove(Long productId) {
+            Integer slot = slotById.remove(productId);
+            if (slot == null) {
+                return;
+            }
+            rowById.remove(productId);
+            live.clear(slot);
+            for (Map<String, BitSet> values : List.of(spotlights, categories, colors, brands, tags, sizes)) {
+                values.values().removeIf(bits -> {
+                    bits.clear(slot);
+                    return bits.isEmpty();
+                });
+            }
+        }
+
+        /**
+         * Har bir sort tartibi uchun live slot'lar ketma-ketligi - yozuvda bir marta, so'rovda sort yo'q
+         */
+        void sort() {
+            Comparator<Integer> byId = Comparator.comparingLong(slot -> productIds[slot]);
+            Comparator<Integer> byPrice = Comparator.<Integer>comparingLong(slot -> priceCents[slot]).thenComparing(byId);
+            Comparator<Integer> byDiscount = Comparator.<Integer>comparingInt(slot -> discounts[slot]).thenComparing(byId);
+
+            for (ProductSortOrder order : ProductSortOrder.values()) {
+                Comparator<Integer> comparator = switch (order) {
+                    case NEWEST -> byId.reversed();
+                    case DISCOUNT -> byDiscount.reversed();
+                    case LOW_PRICE -> byPrice;
+                    case HIGH_PRICE -> byPrice.reversed();
+                };
+                sortedSlots.put(order, live.stream().boxed().sorted(comparator).mapToInt(Integer::intValue).toArray());
+            }
+        }
+
+        /**
+         * Filterga mos slot'lar. excluded - facet hisoblashda o'sha dimension filteri qo'llanmaydi
+         */
+        BitSet matching(ProductFacetFilter filter, Dimension excluded) {
+            BitSet result = (BitSet) live.clone();
+            and(result, spotlights, filter.spotlightName());
+            if (excluded != Dimension.CATEGORY) {
+                and(result, categories, filter.categoryName());
+            }
+            if (excluded != Dimension.COLOR) {
+                and(result, colors, filter.colorName());
+            }
+            if (excluded != Dimension.SIZE) {
+                and(result, sizes, filter.sizeName());
+            }
+            if (excluded != Dimension.BRAND) {
+                and(result, brands, filter.brandName());
+            }
+            if (excluded != Dimension.TAG) {
+                and(result, tags, filter.tag());
+            }
+            return result;
+        }
+
+        Map<String, Long> facetCounts(ProductFacetFilter filter, Dimension dimension, Map<String, BitSet> values) {
+            // Spotlight ichida uchraydigan qiymatlar ko'rsatiladi (0 bo'lsa ham), son esa boshqa filterlar bilan
+            BitSet scope = (BitSet) live.clone();
+            and(scope, spotlights, filter.spotlightName());
+            BitSet base = matching(filter, dimension);
+
+            List<Map.Entry<String, Long>> counts = new ArrayList<>();
+            values.forEach((value, bits) -> {
+                if (bits.intersects(scope)) {
+                    BitSet intersection = (BitSet) bits.clone();
+                    intersection.and(base);
+                    counts.add(Map.entry(value, (long) intersection.cardinality()));
+                }
+            });
+            counts.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey()));
+
+            Map<String, Long> sorted = new LinkedHashMap<>();
+            counts.forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+            return sorted;
+        }
+
+        private void and(BitSet result, Map<String, BitSet> values, String value) {
+            if (value == null) {
+                return;
+            }
+            BitSet bits = values.get(value);
+            if (bits == null) {
+                result.clear();
+            } else {
+                result.and(bits);
+            }
+        }
+
+        private void setBit(Map<String, BitSet> values, String value, int slot) {
+            if (value != null) {
+                values.computeIfAbsent(value, key -> new BitSet()).set(slot);
+            }
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > productIds.length) {
+                int newLength = Math.max(capacity, productIds.length * 2);
+                productIds = Arrays.copyOf(productIds, newLength);
+                priceCents = Arrays.copyOf(priceCents, newLength);
+                discounts = Arrays.copyOf(discounts, newLength);
+            }
+        }
+
+        private static Map<String, BitSet> deepCopy(Map<String, BitSet> source) {
+            Map<String, BitSet> copy = new HashMap<>(source.size() * 2);
+            source.forEach((value, bits) -> copy.put(value, (BitSet) bits.clone()));
+            return copy;
+        }
+    }
+}
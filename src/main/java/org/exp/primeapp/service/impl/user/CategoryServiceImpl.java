@@ -1,17 +1,21 @@
 package org.exp.primeapp.service.impl.user;
 
 import lombok.RequiredArgsConstructor;
+import org.exp.primeapp.configs.cache.CoalescedRead;
+import org.exp.primeapp.configs.cache.ProductReadCache;
 import org.exp.primeapp.models.dto.request.CategoryReq;
 import org.exp.primeapp.models.dto.responce.admin.AdminCategoryDashboardRes;
 import org.exp.primeapp.models.dto.responce.user.CategoryRes;
 import org.exp.primeapp.models.dto.responce.admin.AdminCategoryRes;
 import org.exp.primeapp.models.entities.Category;
 import org.exp.primeapp.models.enums.CategoryStatus;
+import org.exp.primeapp.models.events.CategoryChangedEvent;
 import org.exp.primeapp.repository.CategoryRepository;
 import org.exp.primeapp.repository.ProductRepository;
 import org.exp.primeapp.service.face.user.CategoryService;
 import org.jspecify.annotations.NonNull;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,6 +33,8 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final ProductRepository productRepository;
+    private final ProductReadCache productReadCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm dd.MM.yyyy");
 
@@ -52,13 +58,14 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     public List<CategoryRes> getResCategories() {
-        return categoryRepository.findByStatusOrderByOrderNumberAsc(CategoryStatus.ACTIVE)
+        return productReadCache.getActiveCategories(() -> categoryRepository
+                .findByStatusOrderByOrderNumberAsc(CategoryStatus.ACTIVE)
                 .stream()
                 .map(category -> new CategoryRes(
                         category.getId(),
                         category.getName(),
                         category.getSpotlightName()))
-                .toList();
+                .toList());
     }
 
     @Override
@@ -68,6 +75,7 @@ public class CategoryServiceImpl implements CategoryService {
         return convertToAdminCategoryRes(category);
     }
 
+    @CoalescedRead("admin-category-dashboard")
     public AdminCategoryDashboardRes getCategoryDashboardRes() {
         List<AdminCategoryRes> categoryResList = categoryRepository.findAllByOrderByOrderNumberAsc().stream()
                 .map(this::convertToAdminCategoryRes)
@@ -110,6 +118,7 @@ public class CategoryServiceImpl implements CategoryService {
                                         : null)
                         .orderNumber(orderNumber)
                         .build());
+        eventPublisher.publishEvent(new CategoryChangedEvent(saved.getId()));
         System.out.println("Category saved successfully");
         return convertToAdminCategoryRes(saved);
     }
@@ -121,6 +130,7 @@ public class CategoryServiceImpl implements CategoryService {
         category.setName(categoryReq.name());
         category.setSpotlightName(categoryReq.spotlightName());
         Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(saved.getId()));
         System.out.println("Category updated successfully");
         return convertToAdminCategoryRes(saved);
     }
@@ -133,6 +143,7 @@ public class CategoryServiceImpl implements CategoryService {
         } else {
             categoryRepository.toggleCategoryStatusOnly(categoryId);
         }
+        eventPublisher.publishEvent(new CategoryChangedEvent(categoryId));
         return convertToAdminCategoryRes(categoryRepository.findById(categoryId).orElseThrow(RuntimeException::new));
     }
 
@@ -145,6 +156,7 @@ public class CategoryServiceImpl implements CategoryService {
             Long newOrder = categoryOrderMap.get(category.getId());
             category.setOrderNumber(newOrder);
         }
+        eventPublisher.publishEvent(new CategoryChangedEvent(null));
 
         return categoryRepository.saveAll(categories).stream().map(this::convertToAdminCategoryRes).toList();
     }
@@ -0,0 +1,141 @@
+package org.exp.primeapp.service.impl.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.exp.primeapp.models.enums.ProductTag;
+import org.exp.primeapp.models.events.CategoryChangedEvent;
+import org.exp.primeapp.models.events.ProductCardsRebuiltEvent;
+import org.exp.primeapp.models.events.ProductChangedEvent;
+import org.exp.primeapp.repository.ProductCardRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Home page featured mahsulotlari uchun tag bo'yicha ON_SALE product id pool'lari.
+ * Pool'lar jadval bo'yicha va product/category o'zgarganda yangilanadi,
+ * random tanlash esa DB'ga murojaat qilmaydi. Product event'ida faqat o'zgargan id'lar o'qiladi,
+ * pool'lar esa tag yoki a'zolik o'zgargandagina qayta yig'iladi.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FeaturedProductPool {
+
+    private static final long[] EMPTY_POOL = new long[0];
+
+    private final ProductCardRepository productCardRepository;
+
+    // Har refresh'da yangi immutable map bilan almashtiriladi
+    private volatile Map<ProductTag, long[]> poolsByTag = Map.of();
+    // Faqat synchronized metodlar ichida almashtiriladi
+    private Map<Long, ProductTag> tagById = Map.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.featured.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        Set<Long> productIds = event.productIds();
+        if (productIds == null || productIds.isEmpty()) {
+            return;
+        }
+        try {
+            Map<Long, ProductTag> fresh = new HashMap<>();
+            for (Object[] row : productCardRepository.findIdAndTagByIdIn(productIds)) {
+                fresh.put((Long) row[0], (ProductTag) row[1]);
+            }
+            // Stock kabi o'zgarishlar tag va a'zolikka tegmaydi - pool'lar o'zgarishsiz qoladi
+            if (productIds.stream().allMatch(id -> tagById.get(id) == fresh.get(id))) {
+                return;
+            }
+            Map<Long, ProductTag> updated = new HashMap<>(tagById);
+            productIds.forEach(updated::remove);
+            updated.putAll(fresh);
+            publish(updated);
+        } catch (Exception e) {
+            log.error("Failed to update featured product pools for {}: {}", productIds, e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        refresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductCardsRebuilt(ProductCardsRebuiltEvent event) {
+        refresh();
+    }
+
+    public synchronized void refresh() {
+        try {
+            Map<Long, ProductTag> tags = new HashMap<>();
+            for (Object[] row : productCardRepository.findIdAndTag()) {
+                tags.put((Long) row[0], (ProductTag) row[1]);
+            }
+            publish(tags);
+            log.debug("Featured product pools refreshed: {}", poolsByTag.keySet());
+        } catch (Exception e) {
+            log.error("Failed to refresh featured product pools: {}", e.getMessage());
+        }
+    }
+
+    private void publish(Map<Long, ProductTag> tags) {
+        Map<ProductTag, List<Long>> idsByTag = new EnumMap<>(ProductTag.class);
+        tags.forEach((id, tag) -> {
+            if (tag != null) {
+                idsByTag.computeIfAbsent(tag, key -> new ArrayList<>()).add(id);
+            }
+        });
+
+        Map<ProductTag, long[]> pools = new EnumMap<>(ProductTag.class);
+        idsByTag.forEach((tag, ids) -> pools.put(tag, ids.stream().mapToLong(Long::longValue).sorted().toArray()));
+        tagById = tags;
+        poolsByTag = pools;
+    }
+
+    /**
+     * Tag pool'idan takrorlanmaydigan count ta random id tanlaydi - O(count)
+     */
+    public List<Long> sample(ProductTag tag, int count) {
+        long[] pool = poolsByTag.getOrDefault(tag, EMPTY_POOL);
+        if (pool.length <= count) {
+            List<Long> all = new ArrayList<>(pool.length);
+            for (long id : pool) {
+                all.add(id);
+            }
+            return all;
+        }
+
+        // Partial Fisher-Yates: faqat almashtirilgan indekslar map'da saqlanadi,
+        // shuning uchun pool nusxalanmaydi
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<Integer, Integer> swapped = new HashMap<>();
+        List<Long> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(pool.length - i);
+            int picked = swapped.getOrDefault(j, j);
+            swapped.put(j, swapped.getOrDefault(i, i));
+            result.add(pool[picked]);
+        }
+        return result;
+    }
+}
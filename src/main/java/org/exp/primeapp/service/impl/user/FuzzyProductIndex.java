@@ -0,0 +1,262 @@
+package org.exp.primeapp.service.impl.user;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.exp.primeapp.models.enums.ProductStatus;
+import org.exp.primeapp.models.events.ProductChangedEvent;
+import org.exp.primeapp.repository.ProductRepository;
+import org.exp.primeapp.utils.TransliterationUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Mahsulot nomi, brand va rangi bo'yicha xatolarga va yozuv turiga (lotin/kirill) chidamli in-memory qidiruv.
+ * Matn TransliterationUtil bilan normalize qilinadi, so'zlar trigram'larga bo'linadi (trigram -> BitSet of slots).
+ * So'rov narxi chegaralangan: trigram soni va ko'rib chiqiladigan posting'lar soni cheklangan.
+ * Faqat o'zgargan mahsulotlarning trigram'lari yangilanadi.
+ */
+@Slf4j
+@Component
+public class FuzzyProductIndex {
+
+    private static final int MAX_QUERY_GRAMS = 24;
+    private static final int MAX_DOCUMENT_GRAMS = 256;
+
+    private final ProductRepository productRepository;
+    private final TransliterationUtil transliterationUtil;
+    private final Timer queryTimer;
+
+    private final int maxPostingsPerQuery;
+    private final double minCoverage;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Quyidagilar faqat write lock ostida o'zgartiriladi
+    private final Map<String, BitSet> postings = new HashMap<>();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private long[] productIds = new long[64];
+    private String[][] slotGrams = new String[64][];
+    private volatile boolean ready;
+
+    public FuzzyProductIndex(
+            ProductRepository productRepository,
+            TransliterationUtil transliterationUtil,
+            MeterRegistry meterRegistry,
+            @Value("${app.fuzzy-search.max-postings-per-query:200000}") int maxPostingsPerQuery,
+            @Value("${app.fuzzy-search.min-coverage:0.5}") double minCoverage) {
+        this.productRepository = productRepository;
+        this.transliterationUtil = transliterationUtil;
+        this.maxPostingsPerQuery = maxPostingsPerQuery;
+        this.minCoverage = minCoverage;
+        this.queryTimer = Timer.builder("product.fuzzy.query")
+                .description("In-memory fuzzy qidiruv vaqti")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.fuzzy-search.rebuild-interval-ms:600000}",
+            initialDelayString = "${app.fuzzy-search.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!ready || event.productIds() == null || event.productIds().isEmpty()) {
+            return;
+        }
+        try {
+            List<Object[]> rows = productRepository.findSuggestionRowsByStatusAndIdIn(
+                    ProductStatus.ON_SALE, event.productIds());
+            lock.writeLock().lock();
+            try {
+                event.productIds().forEach(this::remove);
+                // ON_SALE bo'lmaganlari natijada yo'q - index'dan chiqib ketadi
+                rows.forEach(this::add);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (Exception e) {
+            log.error("Failed to update fuzzy index for products {}: {}", event.productIds(), e.getMessage());
+        }
+    }
+
+    public void rebuild() {
+        try {
+            List<Object[]> rows = productRepository.findSuggestionRowsByStatus(ProductStatus.ON_SALE);
+            lock.writeLock().lock();
+            try {
+                postings.clear();
+                slotById.clear();
+                live.clear();
+                productIds = new long[Math.max(64, rows.size())];
+                slotGrams = new String[productIds.length][];
+                rows.forEach(this::add);
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Fuzzy product index rebuilt with {} products, {} grams", rows.size(), postings.size());
+        } catch (Exception e) {
+            log.error("Failed to rebuild fuzzy product index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Matnga eng o'xshash mahsulot id'lari (o'xshashlik kamayish tartibida)
+     */
+    public List<Long> match(String query, int limit) {
+        String normalized = transliterationUtil.normalize(query);
+        if (!ready || normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return queryTimer.record(() -> doMatch(normalized, limit));
+    }
+
+    private List<Long> doMatch(String normalized, int limit) {
+        Set<String> queryGrams = grams(normalized, MAX_QUERY_GRAMS);
+
+        lock.readLock().lock();
+        try {
+            List<BitSet> queryPostings = new ArrayList<>(queryGrams.size());
+            for (String gram : queryGrams) {
+                BitSet bits = postings.get(gram);
+                if (bits != null) {
+                    queryPostings.add(bits);
+                }
+            }
+            if (queryPostings.isEmpty()) {
+                return List.of();
+            }
+            // Kam uchraydigan trigram'lar eng ko'p ma'lumot beradi - limit tugasa ko'p uchraydiganlari tashlanadi
+            queryPostings.sort(Comparator.comparingInt(BitSet::cardinality));
+
+            int[] shared = new int[productIds.length];
+            List<Integer> touched = new ArrayList<>();
+            long visited = 0;
+            for (BitSet bits : queryPostings) {
+                int cardinality = bits.cardinality();
+                if (visited > 0 && visited + cardinality > maxPostingsPerQuery) {
+                    break;
+                }
+                visited += cardinality;
+                for (int slot = bits.nextSetBit(0); slot >= 0; slot = bits.nextSetBit(slot + 1)) {
+                    if (shared[slot]++ == 0) {
+                        touched.add(slot);
+                    }
+                }
+            }
+
+            // Typo'da 1-2 trigram farq qiladi - so'rov trigram'larining kamida minCoverage qismi mos kelishi kerak
+            int minShared = Math.max(1, (int) Math.ceil(queryGrams.size() * minCoverage));
+            List<Integer> candidates = new ArrayList<>();
+            for (int slot : touched) {
+                if (shared[slot] >= minShared) {
+                    candidates.add(slot);
+                }
+            }
+
+            // Ko'proq mos trigram, keyin qisqaroq matn (aniqroq moslik), keyin yangiroq mahsulot
+            candidates.sort(Comparator.<Integer>comparingInt(slot -> shared[slot]).reversed()
+                    .thenComparingInt(slot -> slotGrams[slot].length)
+                    .thenComparing(Comparator.<Integer>comparingLong(slot -> productIds[slot]).reversed()));
+
+            return candidates.stream().limit(limit).map(slot -> productIds[slot]).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * row: [id, name, brand, salesCount, categoryId, colorName]
+     */
+    /**
+     * Nom, brend va rang - null maydonlar "null" so'zi bo'lib indeksga tushmasligi uchun tashlab ketiladi
+     */
+    private static String documentText(Object[] row) {
+        StringJoiner text = new StringJoiner(" ");
+        for (int index : new int[]{1, 2, 5}) {
+            if (row[index] != null) {
+                text.add(row[index].toString());
+            }
+        }
+        return text.toString();
+    }
+
+    private void add(Object[] row) {
+        Long productId = (Long) row[0];
+        remove(productId);
+
+        Set<String> grams = grams(transliterationUtil.normalize(documentText(row)), MAX_DOCUMENT_GRAMS);
+        int slot = live.nextClearBit(0);
+        if (slot >= productIds.length) {
+            int newLength = Math.max(slot + 1, productIds.length * 2);
+            productIds = Arrays.copyOf(productIds, newLength);
+            slotGrams = Arrays.copyOf(slotGrams, newLength);
+        }
+        live.set(slot);
+        slotById.put(productId, slot);
+        productIds[slot] = productId;
+        slotGrams[slot] = grams.toArray(new String[0]);
+        for (String gram : grams) {
+            postings.computeIfAbsent(gram, key -> new BitSet()).set(slot);
+        }
+    }
+
+    private void remove(Long productId) {
+        Integer slot = slotById.remove(productId);
+        if (slot == null) {
+            return;
+        }
+        live.clear(slot);
+        for (String gram : slotGrams[slot]) {
+            BitSet bits = postings.get(gram);
+            if (bits != null) {
+                bits.clear(slot);
+                if (bits.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+        slotGrams[slot] = null;
+    }
+
+    /**
+     * So'z chegaralari bilan trigram'lar: "nike" -> " ni", "nik", "ike", "ke "
+     */
+    private Set<String> grams(String normalized, int maxGrams) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String word : normalized.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = " " + word + " ";
+            for (int i = 0; i + 3 <= padded.length() && grams.size() < maxGrams; i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,78 @@
+package org.exp.primeapp.service.impl.user;
+
+import org.exp.primeapp.models.enums.ProductTag;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Savatda ko'rsatilgan narxlar: har bir qator uchun product, size, birlik narxi va narx versiyasi.
+ * Ichki formati: expiresAt|productId:sizeId:unitPrice:priceVersion,... (imzo PriceQuoteSigner'da)
+ */
+public record PriceQuote(
+        long expiresAt,
+        List<Line> lines
+) {
+
+    public record Line(Long productId, Long sizeId, BigDecimal unitPrice, long priceVersion) {
+    }
+
+    public Line find(Long productId, Long sizeId) {
+        for (Line line : lines) {
+            if (line.productId().equals(productId) && line.sizeId().equals(sizeId)) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Narxga ta'sir qiluvchi maydonlar (price, discountPercent, tag) fingerprint'i.
+     * Shulardan biri o'zgarsa versiya ham o'zgaradi, 10.00 va 10.0 bir xil
+     */
+    public static long priceVersion(BigDecimal price, Integer discountPercent, ProductTag tag) {
+        String raw = (price != null ? price.stripTrailingZeros().toPlainString() : "") + "|"
+                + (discountPercent != null ? discountPercent : 0) + "|" + tag;
+        return UUID.nameUUIDFromBytes(raw.getBytes(StandardCharsets.UTF_8)).getMostSignificantBits();
+    }
+
+    String encode() {
+        StringBuilder raw = new StringBuilder().append(expiresAt).append('|');
+        for (int i = 0; i < lines.size(); i++) {
+            Line line = lines.get(i);
+            if (i > 0) {
+                raw.append(',');
+            }
+            raw.append(line.productId()).append(':').append(line.sizeId()).append(':')
+                    .append(line.unitPrice().toPlainString()).append(':').append(line.priceVersion());
+        }
+        return raw.toString();
+    }
+
+    static PriceQuote decode(String raw) {
+        try {
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid price quote");
+            }
+            List<Line> lines = new ArrayList<>();
+            if (!parts[1].isEmpty()) {
+                for (String value : parts[1].split(",")) {
+                    String[] fields = value.split(":", -1);
+                    if (fields.length != 4) {
+                        throw new IllegalArgumentException("Invalid price quote");
+                    }
+                    lines.add(new Line(Long.parseLong(fields[0]), Long.parseLong(fields[1]),
+                            new BigDecimal(fields[2]), Long.parseLong(fields[3])));
+                }
+            }
+            return new PriceQuote(Long.parseLong(parts[0]), List.copyOf(lines));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException ham shu yerga tushadi
+            throw new IllegalArgumentException("Invalid price quote", e);
+        }
+    }
+}
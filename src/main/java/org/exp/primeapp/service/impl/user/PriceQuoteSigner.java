@@ -0,0 +1,80 @@
+package org.exp.primeapp.service.impl.user;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * PriceQuote'ni qisqa muddatli, HMAC-SHA256 bilan imzolangan token'ga aylantiradi: base64url(payload).base64url(imzo).
+ * Imzo mos kelmasa yoki muddati o'tgan bo'lsa token e'tiborsiz qoldiriladi - checkout narxni qaytadan hisoblaydi.
+ */
+@Slf4j
+@Component
+public class PriceQuoteSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+
+    public PriceQuoteSigner(
+            @Value("${app.price-quote.secret}") String secret,
+            @Value("${app.price-quote.ttl-seconds:900}") long ttlSeconds) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public String sign(List<PriceQuote.Line> lines) {
+        PriceQuote quote = new PriceQuote(Instant.now().getEpochSecond() + ttlSeconds, lines);
+        byte[] payload = quote.encode().getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload) + "." + encoder.encodeToString(mac(payload));
+    }
+
+    /**
+     * Yaroqli token uchun PriceQuote, aks holda null
+     */
+    public PriceQuote verify(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            int dot = token.indexOf('.');
+            if (dot < 0) {
+                return null;
+            }
+            byte[] payload = Base64.getUrlDecoder().decode(token.substring(0, dot));
+            byte[] signature = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+            // Constant-time solishtirish
+            if (!MessageDigest.isEqual(mac(payload), signature)) {
+                log.warn("Price quote signature mismatch");
+                return null;
+            }
+            PriceQuote quote = PriceQuote.decode(new String(payload, StandardCharsets.UTF_8));
+            return quote.expiresAt() >= Instant.now().getEpochSecond() ? quote : null;
+        } catch (IllegalArgumentException e) {
+            log.debug("Invalid price quote token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] mac(byte[] payload) {
+        try {
+            // Mac thread-safe emas - har safar yangisi
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
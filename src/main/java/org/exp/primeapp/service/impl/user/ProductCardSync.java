@@ -0,0 +1,59 @@
+package org.exp.primeapp.service.impl.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.exp.primeapp.models.events.CategoryChangedEvent;
+import org.exp.primeapp.models.events.ProductChangedEvent;
+import org.exp.primeapp.repository.ProductCardRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * product_cards jadvalini yozuv bilan bir transaction'da yangilaydi (BEFORE_COMMIT):
+ * product, attachment, inventory va order yozuvlari commit bo'lsa karta ham commit bo'ladi, aks holda ikkalasi ham.
+ * In-memory index'lar va read cache AFTER_COMMIT'da ishlaydi - ular yangilangan jadvalni o'qiydi.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCardSync {
+
+    private final ProductCardRepository productCardRepository;
+
+    // Transaction'siz publish qilinganda (fallback) index'lardan oldin ishlashi kerak
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        productCardRepository.refreshProducts(event.productIds());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.categoryId() == null) {
+            productCardRepository.rebuildAll();
+        } else {
+            productCardRepository.refreshCategory(event.categoryId());
+        }
+    }
+
+    // Birinchi ishga tushishda (migration'dan keyin) jadval bo'sh - index'lar o'qishidan oldin to'ldiriladi
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (productCardRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    public int rebuild() {
+        int rows = productCardRepository.rebuildAll();
+        log.info("Product cards rebuilt, {} rows affected", rows);
+        return rows;
+    }
+}
@@ -0,0 +1,49 @@
+package org.exp.primeapp.service.impl.user;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Storefront listing uchun opaque cursor: sort turi, oxirgi elementning sort kaliti va id'si.
+ * Client uchun base64url satr, ichki formati: sortOrder|sortKey|id
+ */
+public record ProductCursor(
+        ProductSortOrder sortOrder,
+        String sortKey,
+        Long id
+) {
+
+    public String encode() {
+        String raw = sortOrder.name() + "|" + (sortKey != null ? sortKey : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Cursor so'ralgan sort bilan mos va sort kaliti shu sort uchun to'g'ri bo'lishi kerak, aks holda 400
+     */
+    public static ProductCursor decode(String cursor, ProductSortOrder expectedOrder) {
+        ProductCursor decoded = decode(cursor);
+        if (decoded.sortOrder() != expectedOrder) {
+            throw new IllegalArgumentException("Cursor does not match sortBy");
+        }
+        return decoded;
+    }
+
+    public static ProductCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            ProductSortOrder sortOrder = ProductSortOrder.valueOf(parts[0]);
+            String sortKey = parts[1].isEmpty() ? null : parts[1];
+            // seekPredicate kalitni parse qiladi - bu yerda tekshirilmasa Specification ichida 500 bo'ladi
+            sortOrder.validateSortKey(sortKey);
+            return new ProductCursor(sortOrder, sortKey, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException ham shu yerga tushadi
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
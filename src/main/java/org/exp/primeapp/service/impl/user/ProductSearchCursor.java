@@ -0,0 +1,34 @@
+package org.exp.primeapp.service.impl.user;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Search natijalari uchun opaque cursor: oxirgi elementning relevance score'i va id'si.
+ * Client uchun base64url satr, ichki formati: score|id
+ */
+public record ProductSearchCursor(
+        BigDecimal score,
+        Long id
+) {
+
+    public String encode() {
+        String raw = score.toPlainString() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductSearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new ProductSearchCursor(new BigDecimal(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException ham shu yerga tushadi
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
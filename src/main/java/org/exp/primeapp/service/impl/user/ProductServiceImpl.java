@@ -4,75 +4,125 @@ import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.exp.primeapp.configs.cache.CoalescedRead;
+import org.exp.primeapp.configs.cache.PageCountCache;
+import org.exp.primeapp.configs.cache.ProductReadCache;
 import org.exp.primeapp.models.dto.request.CartItemReq;
 import org.exp.primeapp.models.dto.responce.user.FeaturedProductRes;
+import org.exp.primeapp.models.dto.responce.user.CartPriceRes;
 import org.exp.primeapp.models.dto.responce.user.ProductCartRes;
+import org.exp.primeapp.models.dto.request.ProductFacetFilter;
+import org.exp.primeapp.models.dto.responce.user.ProductFacetsRes;
 import org.exp.primeapp.models.dto.responce.user.ProductPageRes;
 import org.exp.primeapp.models.dto.responce.user.ProductRes;
+import org.exp.primeapp.models.dto.responce.user.SuggestionRes;
 import org.exp.primeapp.models.dto.responce.user.ProductSizeRes;
+import org.exp.primeapp.models.dto.responce.user.page.CursorPageRes;
 import org.exp.primeapp.models.dto.responce.user.page.PageRes;
-import org.exp.primeapp.models.entities.Attachment;
+import org.exp.primeapp.models.dto.response.ProductCardView;
 import org.exp.primeapp.models.entities.Product;
 import org.exp.primeapp.models.entities.ProductSize;
+import org.exp.primeapp.models.enums.PageCountMode;
 import org.exp.primeapp.models.enums.ProductStatus;
 import org.exp.primeapp.models.enums.ProductTag;
 import org.exp.primeapp.models.enums.Size;
 import org.exp.primeapp.repository.AttachmentRepository;
+import org.exp.primeapp.repository.ProductCardRepository;
 import org.exp.primeapp.repository.ProductRepository;
+import org.exp.primeapp.repository.ProductRepositoryCustom;
 import org.exp.primeapp.repository.ProductSizeRepository;
+import org.exp.primeapp.repository.TableStatisticsRepository;
 import org.exp.primeapp.service.face.user.ProductService;
+import org.exp.primeapp.utils.PriceUtil;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
-import static java.util.stream.Collectors.toList;
 
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductCardRepository productCardRepository;
     private final AttachmentRepository attachmentRepository;
     private final ProductSizeRepository productSizeRepository;
+    private final ProductReadCache productReadCache;
+    private final PageCountCache pageCountCache;
+    private final TableStatisticsRepository tableStatisticsRepository;
+    private final FeaturedProductPool featuredProductPool;
+    private final CatalogIndex catalogIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final FuzzyProductIndex fuzzyProductIndex;
+    private final CartPricingEngine cartPricingEngine;
+    private final PriceUtil priceUtil;
+
+    private static final int FEATURED_PRODUCTS_COUNT = 4;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 100;
+    private static final int MAX_MULTI_GET_IDS = 200;
 
     @Override
     public List<ProductRes> getAllProducts() {
-        return productRepository.findAll()
-                .stream()
-                .map(this::convertToProductRes)
-                .collect(toList());
+        return convertToProductResList(productRepository.findAll());
     }
 
+    // Random tanlov qisqa vaqt bo'lishiladi - sovuq home page'da har bir so'rov qayta hisoblamaydi
+    @CoalescedRead(value = "featured-products", freshSeconds = 10, staleSeconds = 60)
     @Transactional
     @Override
     public FeaturedProductRes getFeaturedRandomProducts() {
-        return new FeaturedProductRes(
-                productRepository.findRandom4ActiveProductsStatusSale().stream()
-                        .map(this::convertToProductRes)
-                        .collect(toList()),
+        // Random id'lar xotiradagi pool'dan olinadi, 12 ta product bitta batch'da yuklanadi
+        List<Long> saleIds = featuredProductPool.sample(ProductTag.SALE, FEATURED_PRODUCTS_COUNT);
+        List<Long> newIds = featuredProductPool.sample(ProductTag.NEW, FEATURED_PRODUCTS_COUNT);
+        List<Long> hotIds = featuredProductPool.sample(ProductTag.HOT, FEATURED_PRODUCTS_COUNT);
+
+        List<Long> allIds = new ArrayList<>(saleIds);
+        allIds.addAll(newIds);
+        allIds.addAll(hotIds);
 
-                productRepository.findRandom4ActiveProductsStatusNew().stream()
-                        .map(this::convertToProductRes)
-                        .collect(toList()),
+        List<Product> products = productRepository.findAllById(allIds).stream()
+                .filter(product -> product.getStatus() == ProductStatus.ON_SALE)
+                .toList();
+        Map<Long, ProductRes> productResById = new HashMap<>();
+        convertToProductResList(products).forEach(res -> productResById.put(res.id(), res));
 
-                productRepository.findRandom4ActiveProductsStatusHot().stream()
-                        .map(this::convertToProductRes)
-                        .collect(toList()));
+        return new FeaturedProductRes(
+                resolveInOrder(saleIds, productResById),
+                resolveInOrder(newIds, productResById),
+                resolveInOrder(hotIds, productResById));
+    }
+
+    private <T> List<T> resolveInOrder(List<Long> ids, Map<Long, T> byId) {
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     @Override
     public PageRes<ProductPageRes> getActiveProducts(Pageable pageable) {
-        Page<ProductPageRes> productRes = productRepository
-                .findAllByStatusOrderByIdDesc(ProductStatus.ON_SALE, pageable)
-                .map(this::convertToProductPageRes);
-        return toPageRes(productRes);
+        ProductReadCache.ProductPageKey key = new ProductReadCache.ProductPageKey(
+                null, null, null, null, null, null, null, PageCountMode.EXACT,
+                pageable.getPageNumber(), pageable.getPageSize());
+        return productReadCache.getProductPage(key, () -> {
+            Page<ProductCardView> cardPage = productCardRepository.findCardsOrderByIdDesc(pageable);
+            return toPageRes(cardPage, convertCardsToProductPageResList(cardPage.getContent()));
+        });
     }
 
     @Override
@@ -84,8 +134,36 @@ public class ProductServiceImpl implements ProductService {
             String brandName,
             String tag,
             String sortBy,
+            PageCountMode countMode,
             Pageable pageable) {
 
+        ProductReadCache.ProductPageKey key = new ProductReadCache.ProductPageKey(
+                spotlightName, categoryName, colorName, sizeName, brandName, tag, sortBy, countMode,
+                pageable.getPageNumber(), pageable.getPageSize());
+        return productReadCache.getProductPage(key, () -> loadActiveProducts(
+                spotlightName, categoryName, colorName, sizeName, brandName, tag, sortBy, countMode, pageable));
+    }
+
+    private PageRes<ProductPageRes> loadActiveProducts(
+            String spotlightName,
+            String categoryName,
+            String colorName,
+            String sizeName,
+            String brandName,
+            String tag,
+            String sortBy,
+            PageCountMode countMode,
+            Pageable pageable) {
+
+        // Catalog index tayyor bo'lsa filter/sort/count xotirada, DB'dan faqat sahifadagi mahsulotlar olinadi.
+        // Bu holda son bepul - countMode'dan qat'i nazar aniq son qaytadi
+        Optional<CatalogIndex.CatalogPage> indexed = catalogIndex.query(
+                toFacetFilter(spotlightName, categoryName, colorName, sizeName, brandName, tag),
+                ProductSortOrder.fromSortBy(sortBy), pageable.getOffset(), pageable.getPageSize());
+        if (indexed.isPresent()) {
+            return toIndexedPageRes(indexed.get(), pageable);
+        }
+
         // Agar barcha filterlar bo'sh bo'lsa, oddiy query ishlatish
         boolean hasFilters = (spotlightName != null && !spotlightName.isBlank()) ||
                 (categoryName != null && !categoryName.isBlank()) ||
@@ -104,19 +182,248 @@ public class ProductServiceImpl implements ProductService {
 
         if (!hasFilters) {
             // Filterlar yo'q - oddiy query (tezroq va ishonchli)
-            Page<ProductPageRes> productRes = productRepository
-                    .findAllByStatusOrderByIdDesc(ProductStatus.ON_SALE, sortedPageable)
-                    .map(this::convertToProductPageRes);
-            return toPageRes(productRes);
+            if (countMode == PageCountMode.EXACT) {
+                Page<ProductCardView> cardPage = productCardRepository.findCardsOrderByIdDesc(sortedPageable);
+                return toPageRes(cardPage, convertCardsToProductPageResList(cardPage.getContent()));
+            }
+            Slice<ProductCardView> cardSlice = productCardRepository.findCardSliceOrderByIdDesc(sortedPageable);
+            // product_cards'da faqat ON_SALE - jadval statistikasi yetarli
+            long approximateTotal = countMode == PageCountMode.APPROXIMATE
+                    ? estimateActiveCardCount()
+                    : -1;
+            return PageRes.ofSlice(cardSlice, convertCardsToProductPageResList(cardSlice.getContent()),
+                    approximateTotal);
         }
 
         // Filterlar bor - Specification ishlatish
         Specification<Product> spec = buildProductSpecification(
                 spotlightName, categoryName, colorName, sizeName, brandName, tag);
 
-        Page<ProductPageRes> productRes = productRepository.findAll(spec, sortedPageable)
-                .map(this::convertToProductPageRes);
-        return toPageRes(productRes);
+        if (countMode == PageCountMode.EXACT) {
+            Page<Product> productPage = productRepository.findAll(spec, sortedPageable);
+            return toPageRes(productPage, convertToProductPageResList(productPage.getContent()));
+        }
+
+        // COUNT(DISTINCT ...) size join bilan sahifa query'sidan qimmat bo'lishi mumkin - size + 1 ta o'qiladi
+        Slice<Product> productSlice = productRepository.findBy(spec,
+                query -> query.sortBy(sort).slice(sortedPageable));
+        long approximateTotal = countMode == PageCountMode.APPROXIMATE
+                ? pageCountCache.getOrCount(
+                        toFacetFilter(spotlightName, categoryName, colorName, sizeName, brandName, tag),
+                        () -> productRepository.count(spec))
+                : -1;
+        return PageRes.ofSlice(productSlice, convertToProductPageResList(productSlice.getContent()),
+                approximateTotal);
+    }
+
+    private long estimateActiveCardCount() {
+        long estimate = tableStatisticsRepository.estimateRowCount("product_cards");
+        if (estimate >= 0) {
+            return estimate;
+        }
+        return pageCountCache.getOrCount(ProductFacetFilter.builder().build(), productCardRepository::count);
+    }
+
+    @Override
+    public ProductFacetsRes getProductFacets(
+            String spotlightName,
+            String categoryName,
+            String colorName,
+            String sizeName,
+            String brandName,
+            String tag) {
+
+        ProductFacetFilter filter = toFacetFilter(spotlightName, categoryName, colorName, sizeName, brandName, tag);
+        return productReadCache.getFacets(filter, () -> catalogIndex.facets(filter)
+                .orElseGet(() -> productRepository.aggregateFacets(filter)));
+    }
+
+    private PageRes<ProductPageRes> toIndexedPageRes(CatalogIndex.CatalogPage catalogPage, Pageable pageable) {
+        List<ProductCardView> cards = findCardsByIdInOrder(catalogPage.productIds());
+        Page<ProductCardView> cardPage = new PageImpl<>(cards, pageable, catalogPage.totalElements());
+        return toPageRes(cardPage, convertCardsToProductPageResList(cards));
+    }
+
+    /**
+     * Id'lar tartibini saqlab kartalarni yuklaydi; shu orada o'chirilgan mahsulot tushib qoladi
+     */
+    private List<ProductCardView> findCardsByIdInOrder(List<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProductCardView> cardsById = new HashMap<>();
+        productCardRepository.findCardsByIdIn(productIds).forEach(card -> cardsById.put(card.id(), card));
+        return productIds.stream()
+                .map(cardsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public List<SuggestionRes> getSuggestions(String prefix, int limit) {
+        return autocompleteIndex.suggest(prefix, limit);
+    }
+
+    @Override
+    public CursorPageRes<ProductPageRes> searchProducts(
+            String query,
+            String spotlightName,
+            String categoryName,
+            String colorName,
+            String sizeName,
+            String brandName,
+            String tag,
+            String cursor,
+            int size) {
+
+        String normalizedQuery = query != null ? query.strip() : "";
+        if (normalizedQuery.isEmpty()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        if (normalizedQuery.length() > MAX_SEARCH_QUERY_LENGTH) {
+            normalizedQuery = normalizedQuery.substring(0, MAX_SEARCH_QUERY_LENGTH);
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        ProductSearchCursor after = cursor != null && !cursor.isBlank() ? ProductSearchCursor.decode(cursor) : null;
+
+        ProductFacetFilter filter = toFacetFilter(spotlightName, categoryName, colorName, sizeName, brandName, tag);
+        List<ProductRepositoryCustom.ProductSearchHit> hits = productRepository.search(
+                normalizedQuery,
+                filter,
+                after != null ? after.score() : null,
+                after != null ? after.id() : null,
+                pageSize + 1);
+
+        if (hits.isEmpty() && after == null) {
+            return fuzzySearch(normalizedQuery, filter, pageSize);
+        }
+
+        boolean hasNext = hits.size() > pageSize;
+        List<ProductRepositoryCustom.ProductSearchHit> pageHits = hasNext ? hits.subList(0, pageSize) : hits;
+        String nextCursor = null;
+        if (hasNext) {
+            ProductRepositoryCustom.ProductSearchHit last = pageHits.getLast();
+            nextCursor = new ProductSearchCursor(last.score(), last.productId()).encode();
+        }
+
+        List<ProductCardView> cards = findCardsByIdInOrder(pageHits.stream()
+                .map(ProductRepositoryCustom.ProductSearchHit::productId)
+                .toList());
+        return CursorPageRes.<ProductPageRes>builder()
+                .content(convertCardsToProductPageResList(cards))
+                .size(pageSize)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /**
+     * Postgres hech narsa topmasa (boshqa yozuv turi yoki ko'p xato) - in-memory fuzzy moslik, bitta sahifa
+     */
+    private CursorPageRes<ProductPageRes> fuzzySearch(String query, ProductFacetFilter filter, int pageSize) {
+        boolean hasFilters = filter.spotlightName() != null || filter.categoryName() != null
+                || filter.colorName() != null || filter.sizeName() != null
+                || filter.brandName() != null || filter.tag() != null;
+
+        List<Long> productIds = fuzzyProductIndex.match(query, hasFilters ? pageSize * 10 : pageSize);
+        if (hasFilters) {
+            productIds = catalogIndex.retainMatching(filter, productIds).orElse(List.of());
+        }
+        List<ProductCardView> cards = findCardsByIdInOrder(productIds.stream().limit(pageSize).toList());
+        return CursorPageRes.<ProductPageRes>builder()
+                .content(convertCardsToProductPageResList(cards))
+                .size(pageSize)
+                .nextCursor(null)
+                .hasNext(false)
+                .build();
+    }
+
+    /**
+     * Listing bilan bir xil: noto'g'ri size/tag e'tiborsiz qoldiriladi, bo'sh qiymat = filter yo'q
+     */
+    private ProductFacetFilter toFacetFilter(
+            String spotlightName,
+            String categoryName,
+            String colorName,
+            String sizeName,
+            String brandName,
+            String tag) {
+        return ProductFacetFilter.builder()
+                .spotlightName(blankToNull(spotlightName))
+                .categoryName(blankToNull(categoryName))
+                .colorName(blankToNull(colorName))
+                .sizeName(validEnumName(Size.class, sizeName))
+                .brandName(blankToNull(brandName))
+                .tag(validEnumName(ProductTag.class, tag))
+                .build();
+    }
+
+    private String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private <E extends Enum<E>> String validEnumName(Class<E> enumType, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(enumType, value).name();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public CursorPageRes<ProductPageRes> getActiveProductsByCursor(
+            String spotlightName,
+            String categoryName,
+            String colorName,
+            String sizeName,
+            String brandName,
+            String tag,
+            String sortBy,
+            String cursor,
+            int size) {
+
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        ProductSortOrder sortOrder = ProductSortOrder.fromSortBy(sortBy);
+        ProductCursor after = cursor != null && !cursor.isBlank() ? ProductCursor.decode(cursor, sortOrder) : null;
+
+        ProductReadCache.ProductCursorKey key = new ProductReadCache.ProductCursorKey(
+                spotlightName, categoryName, colorName, sizeName, brandName, tag, sortOrder.name(),
+                after != null ? cursor : null, pageSize);
+        return productReadCache.getProductCursorPage(key, () -> loadActiveProductsByCursor(
+                buildProductSpecification(spotlightName, categoryName, colorName, sizeName, brandName, tag),
+                sortOrder, after, pageSize));
+    }
+
+    /**
+     * Keyset pagination: OFFSET va COUNT(*) yo'q - (sortKey, id) bo'yicha seek qilib size + 1 ta olinadi,
+     * ortiqcha bitta element keyingi sahifa borligini bildiradi
+     */
+    private CursorPageRes<ProductPageRes> loadActiveProductsByCursor(
+            Specification<Product> filterSpec,
+            ProductSortOrder sortOrder,
+            ProductCursor after,
+            int pageSize) {
+
+        Specification<Product> spec = after == null
+                ? filterSpec
+                : filterSpec.and((root, query, cb) -> sortOrder.seekPredicate(root, cb, after));
+
+        List<Product> products = productRepository.findBy(spec,
+                query -> query.sortBy(sortOrder.sort()).limit(pageSize + 1).all());
+
+        boolean hasNext = products.size() > pageSize;
+        List<Product> pageProducts = hasNext ? products.subList(0, pageSize) : products;
+
+        return CursorPageRes.<ProductPageRes>builder()
+                .content(convertToProductPageResList(pageProducts))
+                .size(pageSize)
+                .nextCursor(hasNext ? sortOrder.cursorOf(pageProducts.getLast()).encode() : null)
+                .hasNext(hasNext)
+                .build();
     }
 
     private Specification<Product> buildProductSpecification(
@@ -185,7 +492,7 @@ public class ProductServiceImpl implements ProductService {
 
         switch (sortBy.toLowerCase()) {
             case "discount":
-                return Sort.by(Sort.Direction.DESC, "discount");
+                return Sort.by(Sort.Direction.DESC, "discountPercent");
             case "low-price":
                 return Sort.by(Sort.Direction.ASC, "price");
             case "high-price":
@@ -197,43 +504,59 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public PageRes<ProductRes> getProductsByCategoryId(Long categoryId, Pageable pageable) {
-        Page<ProductRes> productRes = productRepository
-                .findAllByCategoryIdAndStatus(categoryId, ProductStatus.ON_SALE, pageable)
-                .map(this::convertToProductRes);
+        Page<Product> productPage = productRepository
+                .findAllByCategoryIdAndStatus(categoryId, ProductStatus.ON_SALE, pageable);
 
-        return toPageRes(productRes);
+        return toPageRes(productPage, convertToProductResList(productPage.getContent()));
     }
 
     @Override
     public List<ProductRes> getInactiveProducts() {
-        return productRepository.findAllByStatusNot(ProductStatus.ON_SALE)
-                .stream()
-                .map(this::convertToProductRes)
-                .collect(toList());
+        return convertToProductResList(productRepository.findAllByStatusNot(ProductStatus.ON_SALE));
     }
 
     @Override
     public List<ProductRes> getActiveProductsByCategoryId(Long categoryId) {
-        return productRepository.findByCategoryIdAndStatus(categoryId, ProductStatus.ON_SALE)
-                .stream()
-                .map(this::convertToProductRes)
-                .collect(toList());
+        return convertToProductResList(productRepository.findByCategoryIdAndStatus(categoryId, ProductStatus.ON_SALE));
     }
 
     @Override
     public List<ProductRes> getInactiveProductsByCategoryId(Long categoryId) {
-        return productRepository.findByStatusNotAndCategoryId(ProductStatus.ON_SALE, categoryId)
-                .stream()
-                .map(this::convertToProductRes)
-                .collect(toList());
+        return convertToProductResList(
+                productRepository.findByStatusNotAndCategoryId(ProductStatus.ON_SALE, categoryId));
     }
 
     @Override
     public ProductRes getProductById(Long productId) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new jakarta.persistence.EntityNotFoundException(
-                        "Product not found with productId: " + productId));
-        return convertToProductRes(product);
+        return productReadCache.getProduct(productId, () -> {
+            Product product = productRepository.findById(productId)
+                    .orElseThrow(() -> new jakarta.persistence.EntityNotFoundException(
+                            "Product not found with productId: " + productId));
+            return convertToProductRes(product);
+        });
+    }
+
+    /**
+     * Bir nechta product: so'rov tartibida, topilmaganlari tashlab ketiladi.
+     * Cache'da yo'qlari uchun product, attachment va size - har biri bitta query.
+     */
+    @Override
+    public List<ProductRes> getProductsByIds(List<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return List.of();
+        }
+        List<Long> uniqueIds = productIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (uniqueIds.size() > MAX_MULTI_GET_IDS) {
+            throw new IllegalArgumentException("Too many product ids, max " + MAX_MULTI_GET_IDS);
+        }
+
+        Map<Long, ProductRes> productResById = productReadCache.getProducts(uniqueIds, missingIds -> {
+            Map<Long, ProductRes> loaded = new HashMap<>();
+            convertToProductResList(productRepository.findAllWithCategoryByIdIn(missingIds))
+                    .forEach(res -> loaded.put(res.id(), res));
+            return loaded;
+        });
+        return resolveInOrder(uniqueIds, productResById);
     }
 
     public <T> PageRes<T> toPageRes(Page<T> page) {
@@ -247,298 +570,159 @@ public class ProductServiceImpl implements ProductService {
                 .build();
     }
 
-    public ProductRes convertToProductRes(Product product) {
-        List<String> attachmentUrls = attachmentRepository.findByProductId(product.getId())
-                .stream()
-                .map(Attachment::getUrl)
-                .collect(toList());
-
-        List<ProductSizeRes> productSizes = product.getSizes()
-                .stream()
-                .map(size -> new ProductSizeRes(size.getId(), size.getSize(), size.getQuantity()))
-                .collect(toList());
-
-        BigDecimal price = product.getPrice();
-        int discount = product.getDiscountPercent() != null ? product.getDiscountPercent() : 0;
-        BigDecimal discountPrice = price;
-
-        if (discount > 0 && discount <= 100 && product.getTag() == ProductTag.SALE) {
-            // discountPrice = price - (price * discount / 100)
-            BigDecimal discountAmount = price.multiply(BigDecimal.valueOf(discount))
-                    .divide(BigDecimal.valueOf(100), 2, java.math.RoundingMode.HALF_UP);
-            discountPrice = price.subtract(discountAmount);
-        }
-
-        return new ProductRes(
-                product.getId(),
-                product.getName(),
-                product.getBrand(),
-                product.getColorName(),
-                product.getColorHex(),
-                product.getTag().name(),
-                product.getCategory().getName(),
-                product.getDescription(),
-                price,
-                discountPrice,
-                discount,
-                attachmentUrls,
-                productSizes);
+    public <T> PageRes<T> toPageRes(Page<?> page, List<T> content) {
+        return PageRes.<T>builder()
+                .content(content)
+                .page(page.getNumber())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .last(page.isLast())
+                .build();
     }
 
-    public ProductPageRes convertToProductPageRes(Product product) {
-        // Query orqali attachments ni topamiz - faqat birinchi rasm
-        String mainImage = attachmentRepository.findByProductId(product.getId())
-                .stream()
-                .findFirst()
-                .map(Attachment::getUrl)
-                .orElse(null);
-
-        // Discount'ni hisoblab discountPrice'ni set qilish
-        // Faqat discountPercent > 0 va tag = SALE bo'lsagina discount hisoblanadi
-        BigDecimal price = product.getPrice();
-        Integer discount = product.getDiscountPercent() != null ? product.getDiscountPercent() : 0;
-        BigDecimal discountPrice = price;
-
-        if (discount > 0 && discount <= 100 && product.getTag() == ProductTag.SALE) {
-            // discountPrice = price - (price * discount / 100)
-            BigDecimal discountAmount = price.multiply(BigDecimal.valueOf(discount))
-                    .divide(BigDecimal.valueOf(100), 2, java.math.RoundingMode.HALF_UP);
-            discountPrice = price.subtract(discountAmount);
-        }
-
-        return new ProductPageRes(
-                product.getId(),
-                product.getName(),
-                product.getBrand(),
-                product.getColorHex(),
-                product.getTag().name(),
-                price,
-                discountPrice,
-                discount,
-                mainImage);
+    public ProductRes convertToProductRes(Product product) {
+        return convertToProductResList(List.of(product)).getFirst();
     }
 
-    @Override
-    @Transactional
-    public List<ProductCartRes> getCartProducts(List<CartItemReq> cartItems) {
-        return cartItems.stream()
-                .map(this::convertToProductCartRes)
-                .collect(toList());
+    public ProductPageRes convertToProductPageRes(Product product) {
+        return convertToProductPageResList(List.of(product)).getFirst();
     }
 
-    @Override
-    public List<ProductCartRes> getCartOrderProducts(List<CartItemReq> cartItems) {
-        if (cartItems == null) {
+    /**
+     * Butun sahifa uchun ProductRes yig'ish: attachments va sizes har bir product
+     * uchun alohida emas, bitta IN (...) query bilan olinadi (N+1 yo'q)
+     */
+    public List<ProductRes> convertToProductResList(List<Product> products) {
+        if (products.isEmpty()) {
             return List.of();
         }
-        return cartItems.stream()
-                .map(this::convertToProductOrderCartRes)
-                .collect(toList());
-    }
-
-    private ProductCartRes convertToProductOrderCartRes(CartItemReq cartItem) {
-        Product product = productRepository.findById(cartItem.productId())
-                .orElse(null);
-
-        if (product == null) {
-            return new ProductCartRes(
-                    cartItem.productId(),
-                    null,
-                    null,
-                    null,
-                    null,
-                    cartItem.productSize(),
-                    null,
-                    null,
-                    null,
-                    false,
-                    null,
-                    cartItem.productQuantity(),
-                    null);
-        }
+        List<Long> productIds = products.stream().map(Product::getId).toList();
+        Map<Long, List<ImageUrls>> attachmentUrls = getAttachmentUrlsByProductIds(productIds);
+        Map<Long, List<ProductSizeRes>> productSizes = getSizesByProductIds(productIds);
+
+        return products.stream()
+                .map(product -> buildProductRes(
+                        product,
+                        attachmentUrls.getOrDefault(product.getId(), List.of()).stream()
+                                .map(ImageUrls::url)
+                                .toList(),
+                        productSizes.getOrDefault(product.getId(), List.of())))
+                .toList();
+    }
 
-        // Size parse logic
-        Size size = null;
-        String sizeString = cartItem.productSize();
-        if (sizeString != null && !sizeString.isBlank()) {
-            try {
-                size = Size.valueOf(sizeString.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                for (Size s : Size.values()) {
-                    if (s.getLabel().equalsIgnoreCase(sizeString)) {
-                        size = s;
-                        break;
-                    }
-                }
-            }
+    /**
+     * Listing sahifasi uchun ProductPageRes yig'ish: faqat birinchi rasm kerak,
+     * sizes umuman yuklanmaydi
+     */
+    public List<ProductPageRes> convertToProductPageResList(List<Product> products) {
+        if (products.isEmpty()) {
+            return List.of();
         }
+        Map<Long, List<ImageUrls>> attachmentUrls = getAttachmentUrlsByProductIds(
+                products.stream().map(Product::getId).toList());
+
+        return products.stream()
+                .map(product -> buildProductPageRes(
+                        product,
+                        attachmentUrls.getOrDefault(product.getId(), List.of()).stream()
+                                .findFirst()
+                                .orElse(null)))
+                .toList();
+    }
 
-        String sizeLabel = size != null ? size.getLabel() : sizeString;
+    /**
+     * Projection'dan ProductPageRes - rasm URL'lari query ichida olingan, qo'shimcha query yo'q
+     */
+    public List<ProductPageRes> convertCardsToProductPageResList(List<ProductCardView> cards) {
+        return cards.stream()
+                .map(card -> buildProductPageRes(card.id(), card.name(), card.brand(), card.colorHex(), card.tag(),
+                        card.price(), card.discountPercent(),
+                        card.mainImageUrl() != null ? new ImageUrls(card.mainImageUrl(), card.mainImageCardUrl()) : null))
+                .toList();
+    }
 
-        // ProductSize and Availability logic
-        ProductSize productSize = null;
-        Integer available = null;
-        boolean hasEnough = false;
+    /**
+     * Original rasm va uning listing uchun kichik (card) varianti
+     */
+    private record ImageUrls(String url, String cardUrl) {
+    }
 
-        if (size != null) {
-            productSize = productSizeRepository.findByProductAndSize(product, size).orElse(null);
-            if (productSize != null) {
-                available = productSize.getQuantity();
-                hasEnough = available >= cartItem.productQuantity();
-            }
+    private Map<Long, List<ImageUrls>> getAttachmentUrlsByProductIds(Collection<Long> productIds) {
+        Map<Long, List<ImageUrls>> urlsByProductId = new HashMap<>();
+        for (Object[] row : attachmentRepository.findUrlsByProductIdIn(productIds)) {
+            urlsByProductId.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                    .add(new ImageUrls((String) row[1], (String) row[2]));
         }
+        return urlsByProductId;
+    }
 
-        // Image logic
-        String mainImage = attachmentRepository.findByProductId(product.getId())
-                .stream()
-                .findFirst()
-                .map(Attachment::getUrl)
-                .orElse(null);
-
-        // Price logic
-        BigDecimal price = product.getPrice();
-        Integer discount = product.getDiscountPercent() != null ? product.getDiscountPercent() : 0;
-        BigDecimal discountPrice = price;
-        boolean hasDiscount = false;
-
-        if (discount > 0 && discount <= 100 && product.getTag() == ProductTag.SALE) {
-            BigDecimal discountAmount = price.multiply(BigDecimal.valueOf(discount))
-                    .divide(BigDecimal.valueOf(100), 2, java.math.RoundingMode.HALF_UP);
-            discountPrice = price.subtract(discountAmount);
-            hasDiscount = true;
+    private Map<Long, List<ProductSizeRes>> getSizesByProductIds(Collection<Long> productIds) {
+        Map<Long, List<ProductSizeRes>> sizesByProductId = new HashMap<>();
+        for (ProductSize size : productSizeRepository.findAllByProductIdIn(productIds)) {
+            sizesByProductId.computeIfAbsent(size.getProduct().getId(), id -> new ArrayList<>())
+                    .add(new ProductSizeRes(size.getId(), size.getSize(), size.getQuantity()));
         }
+        return sizesByProductId;
+    }
 
-        // Calculation
-        BigDecimal unitPriceToUse = hasDiscount ? discountPrice : price;
-        BigDecimal totalPrice = unitPriceToUse.multiply(BigDecimal.valueOf(cartItem.productQuantity()));
+    private ProductRes buildProductRes(Product product, List<String> attachmentUrls,
+            List<ProductSizeRes> productSizes) {
+        BigDecimal price = product.getPrice();
+        int discount = product.getDiscountPercent() != null ? product.getDiscountPercent() : 0;
 
-        return new ProductCartRes(
+        return new ProductRes(
                 product.getId(),
                 product.getName(),
                 product.getBrand(),
                 product.getColorName(),
                 product.getColorHex(),
-                sizeLabel,
+                product.getTag().name(),
+                product.getCategory().getName(),
+                product.getDescription(),
                 price,
-                discountPrice,
-                mainImage,
-                hasEnough,
-                available,
-                cartItem.productQuantity(),
-                totalPrice);
-    }
-
-    private ProductCartRes convertToProductCartRes(CartItemReq cartItem) {
-        // Product'ni database'dan olish
-        Product product = productRepository.findById(cartItem.productId())
-                .orElse(null);
-
-        if (product == null) {
-            // Product topilmasa, hasEnough = false bilan bo'sh ma'lumotlar qaytarish
-            return new ProductCartRes(
-                    cartItem.productId(),
-                    null,
-                    null,
-                    null,
-                    null,
-                    cartItem.productSize(),
-                    null,
-                    null,
-                    null,
-                    false,
-                    null,
-                    cartItem.productQuantity(),
-                    null);
-        }
-
-        // Size'ni parse qilish - enum name yoki label orqali
-        Size size = parseSize(cartItem.productSize());
-
-        if (size == null) {
-            // Size topilmasa, hasEnough = false
-            return buildProductCartRes(product, cartItem.productSize(), null, false, cartItem.productQuantity());
-        }
-
-        // ProductSize'ni topish
-        ProductSize productSize = productSizeRepository.findByProductAndSize(product, size)
-                .orElse(null);
-
-        if (productSize == null) {
-            // ProductSize topilmasa, hasEnough = false, available = null
-            return buildProductCartRes(product, size.getLabel(), null, false, cartItem.productQuantity());
-        }
-
-        // Quantity'ni tekshirish
-        boolean hasEnough = productSize.getQuantity() >= cartItem.productQuantity();
-
-        return buildProductCartRes(product, size.getLabel(), productSize, hasEnough, cartItem.productQuantity());
+                priceUtil.unitPrice(product),
+                discount,
+                List.copyOf(attachmentUrls),
+                List.copyOf(productSizes));
     }
 
-    private Size parseSize(String sizeString) {
-        if (sizeString == null || sizeString.isBlank()) {
-            return null;
-        }
-
-        // Avval enum name orqali tekshirish (masalan "L", "SIZE_41")
-        try {
-            return Size.valueOf(sizeString.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            // Enum name bo'lmasa, label orqali qidirish
-            for (Size size : Size.values()) {
-                if (size.getLabel().equalsIgnoreCase(sizeString)) {
-                    return size;
-                }
-            }
-            return null;
-        }
+    private ProductPageRes buildProductPageRes(Product product, ImageUrls mainImage) {
+        return buildProductPageRes(product.getId(), product.getName(), product.getBrand(), product.getColorHex(),
+                product.getTag(), product.getPrice(), product.getDiscountPercent(), mainImage);
     }
 
-    private ProductCartRes buildProductCartRes(Product product, String chosenSize, ProductSize productSize,
-            boolean hasEnough, Integer quantity) {
-        // Main image'ni olish
-        String mainImage = attachmentRepository.findByProductId(product.getId())
-                .stream()
-                .findFirst()
-                .map(Attachment::getUrl)
-                .orElse(null);
+    private ProductPageRes buildProductPageRes(Long id, String name, String brand, String colorHex, ProductTag tag,
+            BigDecimal price, Integer discountPercent, ImageUrls mainImage) {
+        Integer discount = discountPercent != null ? discountPercent : 0;
+        String mainImageUrl = mainImage != null ? mainImage.url() : null;
+        String smallImageUrl = mainImage != null && mainImage.cardUrl() != null ? mainImage.cardUrl() : mainImageUrl;
 
-        // Discount'ni hisoblab discountPrice'ni set qilish
-        BigDecimal price = product.getPrice();
-        Integer discount = product.getDiscountPercent() != null ? product.getDiscountPercent() : 0;
-        BigDecimal discountPrice = price;
-        boolean hasDiscount = false;
-
-        if (discount > 0 && discount <= 100 && product.getTag() == ProductTag.SALE) {
-            BigDecimal discountAmount = price.multiply(BigDecimal.valueOf(discount))
-                    .divide(BigDecimal.valueOf(100), 2, java.math.RoundingMode.HALF_UP);
-            discountPrice = price.subtract(discountAmount);
-            hasDiscount = true;
-        }
+        return new ProductPageRes(
+                id,
+                name,
+                brand,
+                colorHex,
+                tag.name(),
+                price,
+                priceUtil.unitPrice(price, discount, tag),
+                discount,
+                mainImageUrl,
+                smallImageUrl);
+    }
 
-        // available - tanlangan product'ning tanlangan size'ining omborda mavjud raqami
-        Integer available = productSize != null ? productSize.getQuantity() : null;
+    @Override
+    public CartPriceRes priceCart(List<CartItemReq> cartItems) {
+        return cartPricingEngine.price(cartItems);
+    }
 
-        // totalPrice - umumiy summa: quantity * (discountPrice agar discount bo'lsa,
-        // aks holda price)
-        BigDecimal totalPrice = null;
-        if (quantity != null && quantity > 0) {
-            BigDecimal priceToUse = hasDiscount ? discountPrice : price;
-            totalPrice = priceToUse.multiply(BigDecimal.valueOf(quantity));
-        }
+    @Override
+    public List<ProductCartRes> getCartProducts(List<CartItemReq> cartItems) {
+        return cartPricingEngine.price(cartItems).items();
+    }
 
-        return new ProductCartRes(
-                product.getId(),
-                product.getName(),
-                product.getBrand(),
-                product.getColorName(),
-                product.getColorHex(),
-                chosenSize,
-                price,
-                discountPrice,
-                mainImage,
-                hasEnough,
-                available,
-                quantity,
-                totalPrice);
+    @Override
+    public List<ProductCartRes> getCartOrderProducts(List<CartItemReq> cartItems) {
+        return cartPricingEngine.price(cartItems).items();
     }
 }
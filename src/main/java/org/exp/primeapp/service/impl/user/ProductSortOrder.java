@@ -0,0 +1,103 @@
+package org.exp.primeapp.service.impl.user;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.exp.primeapp.models.entities.Product;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+
+/**
+ * Storefront listing sort turlari. Har birida id tiebreak bor - tartib barqaror,
+ * shuning uchun keyset (seek) pagination ishlatish mumkin.
+ */
+public enum ProductSortOrder {
+
+    NEWEST(null, Sort.Direction.DESC),
+    DISCOUNT("discountPercent", Sort.Direction.DESC),
+    LOW_PRICE("price", Sort.Direction.ASC),
+    HIGH_PRICE("price", Sort.Direction.DESC);
+
+    private final String property;
+    private final Sort.Direction direction;
+
+    ProductSortOrder(String property, Sort.Direction direction) {
+        this.property = property;
+        this.direction = direction;
+    }
+
+    /**
+     * API'dagi sortBy qiymati: discount, low-price, high-price. Boshqa qiymatlar - NEWEST
+     */
+    public static ProductSortOrder fromSortBy(String sortBy) {
+        if (sortBy == null || sortBy.isBlank()) {
+            return NEWEST;
+        }
+        return switch (sortBy.toLowerCase()) {
+            case "discount" -> DISCOUNT;
+            case "low-price" -> LOW_PRICE;
+            case "high-price" -> HIGH_PRICE;
+            default -> NEWEST;
+        };
+    }
+
+    public Sort sort() {
+        Sort idSort = Sort.by(direction, "id");
+        return property == null ? idSort : Sort.by(direction, property).and(idSort);
+    }
+
+    public ProductCursor cursorOf(Product product) {
+        String sortKey = switch (this) {
+            case NEWEST -> null;
+            case DISCOUNT -> String.valueOf(product.getDiscountPercent() != null ? product.getDiscountPercent() : 0);
+            case LOW_PRICE, HIGH_PRICE -> product.getPrice().toPlainString();
+        };
+        return new ProductCursor(this, sortKey, product.getId());
+    }
+
+    /**
+     * Cursor'dagi sort kaliti: NEWEST'da kalit yo'q, DISCOUNT - butun son, narx sortlarida - son.
+     * Noto'g'ri bo'lsa IllegalArgumentException (NumberFormatException ham)
+     */
+    void validateSortKey(String sortKey) {
+        if (property == null) {
+            return;
+        }
+        if (sortKey == null) {
+            throw new IllegalArgumentException("Cursor sort key is missing");
+        }
+        if (this == DISCOUNT) {
+            Integer.parseInt(sortKey);
+        } else {
+            new BigDecimal(sortKey);
+        }
+    }
+
+    /**
+     * Cursor'dan keyingi elementlar: (key, id) juftligi bo'yicha sort yo'nalishida "keyin" keladiganlar
+     */
+    public Predicate seekPredicate(Root<Product> root, CriteriaBuilder cb, ProductCursor cursor) {
+        Path<Long> id = root.get("id");
+        Predicate idAfter = direction == Sort.Direction.ASC
+                ? cb.greaterThan(id, cursor.id())
+                : cb.lessThan(id, cursor.id());
+        if (property == null) {
+            return idAfter;
+        }
+
+        return switch (this) {
+            case DISCOUNT -> seek(cb, root.get(property), Integer.valueOf(cursor.sortKey()), idAfter);
+            default -> seek(cb, root.get(property), new BigDecimal(cursor.sortKey()), idAfter);
+        };
+    }
+
+    private <T extends Comparable<? super T>> Predicate seek(CriteriaBuilder cb, Path<T> key, T value,
+                                                             Predicate idAfter) {
+        Predicate keyAfter = direction == Sort.Direction.ASC
+                ? cb.greaterThan(key, value)
+                : cb.lessThan(key, value);
+        return cb.or(keyAfter, cb.and(cb.equal(key, value), idAfter));
+    }
+}
@@ -2,6 +2,7 @@ package org.exp.primeapp.service.impl.user;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.exp.primeapp.configs.cache.PageCountCache;
 import org.exp.primeapp.models.dto.responce.admin.AdminUserDashboardRes;
 import org.exp.primeapp.models.dto.responce.admin.AdminUserDetailRes;
 import org.exp.primeapp.models.dto.responce.admin.AdminUserRes;
@@ -10,12 +11,15 @@ import org.exp.primeapp.models.dto.responce.user.UserRes;
 import org.exp.primeapp.models.dto.responce.user.page.PageRes;
 import org.exp.primeapp.models.entities.Role;
 import org.exp.primeapp.models.entities.User;
+import org.exp.primeapp.models.enums.PageCountMode;
+import org.exp.primeapp.repository.TableStatisticsRepository;
 import org.exp.primeapp.repository.UserRepository;
 import org.exp.primeapp.service.face.user.OrderService;
 import org.exp.primeapp.service.face.user.UserService;
 import org.exp.primeapp.utils.UserUtil;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -28,6 +32,8 @@ public class UserServiceImpl implements UserService {
         private final UserRepository userRepository;
         private final OrderService orderService;
         private final UserUtil userUtil;
+        private final PageCountCache pageCountCache;
+        private final TableStatisticsRepository tableStatisticsRepository;
 
         @Override
         public UserRes getUserData(User user) {
@@ -182,15 +188,42 @@ public class UserServiceImpl implements UserService {
 
         @Override
         public PageRes<AdminUserDetailRes> getAdminUsersWithFilter(Pageable pageable, Boolean active, String phone,
-                        String firstName) {
+                        String firstName, PageCountMode countMode) {
                 org.exp.primeapp.models.enums.AccountStatus stats = null;
                 if (active != null)
                         stats = active ? org.exp.primeapp.models.enums.AccountStatus.ACTIVE
                                         : org.exp.primeapp.models.enums.AccountStatus.INACTIVE;
 
-                Page<User> userPage = userRepository.findAllWithFilters(stats, phone, firstName, pageable);
-                Page<AdminUserDetailRes> detailResPage = userPage.map(this::convertToAdminUserDetailRes);
-                return toPageRes(detailResPage);
+                if (countMode == PageCountMode.EXACT) {
+                        Page<User> userPage = userRepository.findAllWithFilters(stats, phone, firstName, pageable);
+                        Page<AdminUserDetailRes> detailResPage = userPage.map(this::convertToAdminUserDetailRes);
+                        return toPageRes(detailResPage);
+                }
+
+                Slice<AdminUserDetailRes> detailResSlice = userRepository
+                                .findSliceWithFilters(stats, phone, firstName, pageable)
+                                .map(this::convertToAdminUserDetailRes);
+                long approximateTotal = -1;
+                if (countMode == PageCountMode.APPROXIMATE) {
+                        approximateTotal = estimateUserCount(stats, phone, firstName);
+                }
+                return PageRes.ofSlice(detailResSlice, detailResSlice.getContent(), approximateTotal);
+        }
+
+        private long estimateUserCount(org.exp.primeapp.models.enums.AccountStatus status, String phone,
+                        String firstName) {
+                if (status == null && phone == null && firstName == null) {
+                        long estimate = tableStatisticsRepository.estimateRowCount("app_users");
+                        if (estimate >= 0) {
+                                return estimate;
+                        }
+                }
+                return pageCountCache.getOrCount(new UserCountKey(status, phone, firstName),
+                                () -> userRepository.countWithFilters(status, phone, firstName));
+        }
+
+        private record UserCountKey(org.exp.primeapp.models.enums.AccountStatus status, String phone,
+                        String firstName) {
         }
 
         private AdminUserDetailRes convertToAdminUserDetailRes(User user) {
@@ -218,4 +251,4 @@ public class UserServiceImpl implements UserService {
                                 .last(page.isLast())
                                 .build();
         }
-}
\ No newline at end of file
+}
@@ -12,6 +12,9 @@ import org.exp.primeapp.models.enums.OrderStatus;
 
 import org.exp.primeapp.repository.*;
 import org.exp.primeapp.service.face.user.OrderService;
+import org.exp.primeapp.service.impl.user.PriceQuote;
+import org.exp.primeapp.service.impl.user.PriceQuoteSigner;
+import org.exp.primeapp.utils.PriceUtil;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,7 +24,11 @@ import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -31,11 +38,11 @@ public class OrderServiceImpl implements OrderService {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
     private final OrderRepository orderRepository;
-    private final ProductRepository productRepository;
     private final ProductSizeRepository productSizeRepository;
     private final CustomerRepository customerRepository;
     private final org.exp.primeapp.service.face.user.CustomerService customerService;
-    private final AttachmentRepository attachmentRepository;
+    private final PriceQuoteSigner priceQuoteSigner;
+    private final PriceUtil priceUtil;
 
     @Transactional
     @Override
@@ -159,26 +166,30 @@ public class OrderServiceImpl implements OrderService {
         BigDecimal totalPrice = BigDecimal.ZERO;
         List<OrderItem> orderItemsList = new ArrayList<>();
 
+        // Savatda ko'rsatilgan narxlar - versiya mos kelsa qayta hisoblanmaydi
+        PriceQuote quote = priceQuoteSigner.verify(orderRequest.quoteToken());
+
         try {
+            // Barcha size, product, category va rasmlar bitta query bilan
+            Map<Long, CheckoutRow> checkoutRows = loadCheckoutRows(orderRequest.items());
+
             for (CreateOrderItemReq itemReq : orderRequest.items()) {
                 log.debug("Processing Item. ProductID: {}, SizeID: {}, Quantity: {}",
                         itemReq.productId(), itemReq.sizeId(), itemReq.amount());
 
-                // Fetch Product
-                Product product = fetchProduct(itemReq.productId());
-
-                // Fetch Size by ID
-                ProductSize productSize = fetchAndValidateProductSize(
-                        itemReq.sizeId(), product.getId(), itemReq.amount());
+                CheckoutRow row = validateCheckoutRow(checkoutRows, itemReq);
+                ProductSize productSize = row.productSize();
+                Product product = productSize.getProduct();
 
                 // Calculate Price
-                BigDecimal finalUnitPrice = calculateItemPrice(product);
-                BigDecimal itemTotal = finalUnitPrice.multiply(BigDecimal.valueOf(itemReq.amount()));
+                UnitPrice unitPrice = resolveUnitPrice(quote, product, productSize);
+                BigDecimal itemTotal = unitPrice.price().multiply(BigDecimal.valueOf(itemReq.amount()));
 
                 totalPrice = totalPrice.add(itemTotal);
 
                 // Create OrderItem (Snapshot)
-                OrderItem orderItem = createOrderItem(order, product, productSize, itemReq.amount(), finalUnitPrice);
+                OrderItem orderItem = createOrderItem(order, product, productSize, itemReq.amount(), unitPrice,
+                        row.mainImageUrl());
                 orderItemsList.add(orderItem);
 
                 // Update Stock - REMOVED: Stock now deducted at PAID status in
@@ -214,25 +225,68 @@ public class OrderServiceImpl implements OrderService {
         }
     }
 
-    private Product fetchProduct(Long productId) {
-        return productRepository.findById(productId)
-                .orElseThrow(() -> new RuntimeException("Mahsulot topilmadi"));
+    private record CheckoutRow(ProductSize productSize, String mainImageUrl) {
     }
 
-    private ProductSize fetchAndValidateProductSize(Long productSizeId, Long productId, int quantity) {
-        if (productSizeId == null) {
-            throw new IllegalArgumentException("Mahsulot hajmi tanlanmagan");
+    private Map<Long, CheckoutRow> loadCheckoutRows(List<CreateOrderItemReq> items) {
+        Set<Long> sizeIds = new HashSet<>();
+        for (CreateOrderItemReq itemReq : items) {
+            if (itemReq.sizeId() != null) {
+                sizeIds.add(itemReq.sizeId());
+            }
         }
-        ProductSize productSize = productSizeRepository.findById(productSizeId)
-                .orElseThrow(() -> new RuntimeException("Mahsulot hajmi topilmadi"));
+        Map<Long, CheckoutRow> rows = new HashMap<>();
+        if (sizeIds.isEmpty()) {
+            return rows;
+        }
+        for (Object[] row : productSizeRepository.findForCheckoutByIdIn(sizeIds)) {
+            ProductSize productSize = (ProductSize) row[0];
+            rows.put(productSize.getId(), new CheckoutRow(productSize, (String) row[1]));
+        }
+        return rows;
+    }
 
-        if (!productSize.getProduct().getId().equals(productId)) {
+    private CheckoutRow validateCheckoutRow(Map<Long, CheckoutRow> checkoutRows, CreateOrderItemReq itemReq) {
+        if (itemReq.sizeId() == null) {
+            throw new IllegalArgumentException("Mahsulot hajmi tanlanmagan");
+        }
+        CheckoutRow row = checkoutRows.get(itemReq.sizeId());
+        if (row == null) {
+            throw new RuntimeException("Mahsulot hajmi topilmadi");
+        }
+        ProductSize productSize = row.productSize();
+        if (!productSize.getProduct().getId().equals(itemReq.productId())) {
             throw new RuntimeException("Mahsulot hajmi mos kelmadi");
         }
-        if (productSize.getQuantity() < quantity) {
+        if (productSize.getQuantity() < itemReq.amount()) {
             throw new RuntimeException("Zaxirada yetarli emas: " + productSize.getSize());
         }
-        return productSize;
+        return row;
+    }
+
+    /**
+     * Birlik narxi va snapshot'ga yoziladigan, haqiqatda qo'llangan discount
+     */
+    private record UnitPrice(BigDecimal price, Integer discountPercent) {
+    }
+
+    /**
+     * Quote'dagi narx - agar qator quote'da bo'lsa va product narx versiyasi o'zgarmagan bo'lsa.
+     * Mijoz savatda ko'rgan narxni to'laydi (savat PriceUtil qoidasida hisoblagan).
+     * Aks holda (token yo'q, eskirgan yoki narx o'zgargan) narx to'liq qayta hisoblanadi
+     */
+    private UnitPrice resolveUnitPrice(PriceQuote quote, Product product, ProductSize productSize) {
+        if (quote != null) {
+            PriceQuote.Line line = quote.find(product.getId(), productSize.getId());
+            if (line != null && line.priceVersion() == PriceQuote.priceVersion(
+                    product.getPrice(), product.getDiscountPercent(), product.getTag())) {
+                return new UnitPrice(line.unitPrice(),
+                        priceUtil.effectiveDiscountPercent(product.getDiscountPercent(), product.getTag()));
+            }
+            log.info("Price quote is stale for product {}, size {} - repricing", product.getId(), productSize.getId());
+        }
+        return new UnitPrice(calculateItemPrice(product),
+                product.getDiscountPercent() != null ? product.getDiscountPercent() : 0);
     }
 
     private BigDecimal calculateItemPrice(Product product) {
@@ -249,7 +303,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     private OrderItem createOrderItem(Order order, Product product, ProductSize productSize, int quantity,
-            BigDecimal unitPrice) {
+            UnitPrice unitPrice, String imageUrl) {
         OrderItem orderItem = new OrderItem();
         orderItem.setOrder(order);
         orderItem.setProduct(product);
@@ -265,17 +319,13 @@ public class OrderServiceImpl implements OrderService {
         orderItem.setCategoryName(product.getCategory().getName());
         orderItem.setTag(product.getTag());
 
-        // Set Image URL
-        List<Attachment> attachments = attachmentRepository.findByProductId(product.getId());
-        String imageUrl = null;
-        if (!attachments.isEmpty()) {
-            imageUrl = attachments.getFirst().getUrl();
-        }
+        // Product'ning birinchi rasmi (eng kichik id)
         orderItem.setImageUrl(imageUrl);
 
         orderItem.setQuantity(quantity);
-        orderItem.setUnitPrice(unitPrice);
-        orderItem.setDiscountPercent(product.getDiscountPercent() != null ? product.getDiscountPercent() : 0);
+        orderItem.setUnitPrice(unitPrice.price());
+        // Faqat haqiqatda qo'llangan discount - convertToUserOrderRes asl narxni shundan tiklaydi
+        orderItem.setDiscountPercent(unitPrice.discountPercent());
 
         return orderItem;
     }
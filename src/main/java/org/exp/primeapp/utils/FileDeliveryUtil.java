@@ -0,0 +1,179 @@
+package org.exp.primeapp.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Disk'dagi file'larni heap'ga o'qimasdan stream qiladi.
+ * Range, ETag / Last-Modified (304) va Cache-Control header'larini qo'llab-quvvatlaydi.
+ * Tomcat sendfile yoqilgan bo'lsa, file kernel orqali zero-copy yuboriladi.
+ */
+@Slf4j
+@Component
+public class FileDeliveryUtil {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // saveFileLocally nomlari: UUID_timestamp[_variant].ext - kontent hech qachon o'zgarmaydi
+    private static final Pattern IMMUTABLE_FILENAME = Pattern.compile(
+            "^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}(_\\d+)?(_[a-z]+)?(\\.[\\w-]+)?$");
+
+    @Value("${app.uploads.cache.immutable-max-age-seconds:31536000}")
+    private long immutableMaxAgeSeconds;
+
+    @Value("${app.uploads.cache.max-age-seconds:3600}")
+    private long defaultMaxAgeSeconds;
+
+    /**
+     * baseDir ichidagi relative path'ni xavfsiz resolve qiladi ("../" bilan chiqib ketishga yo'l qo'ymaydi)
+     *
+     * @return file path yoki baseDir tashqarisiga chiqsa null
+     */
+    public Path resolveInside(String baseDir, String relativePath) {
+        Path base = Path.of(baseDir).toAbsolutePath().normalize();
+        Path resolved = base.resolve(relativePath).normalize();
+        return resolved.startsWith(base) ? resolved : null;
+    }
+
+    public void serve(Path filePath, String contentType, String downloadName,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (filePath == null || !Files.isRegularFile(filePath)) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+        long fileLength = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String filename = filePath.getFileName().toString();
+        String etag = "\"" + Long.toHexString(fileLength) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl(filename));
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        // If-None-Match / If-Modified-Since - mos kelsa 304 va ETag/Last-Modified header'lari qo'yiladi
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        response.setContentType(contentType != null ? contentType : "application/octet-stream");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "inline; filename=\"" + (downloadName != null ? downloadName : filename) + "\"");
+
+        long start = 0;
+        long end = fileLength - 1;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && isRangeApplicable(request, etag, lastModified)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                sendRangeNotSatisfiable(response, fileLength);
+                return;
+            }
+            // Bir nechta range kam uchraydi - bunday holda to'liq file qaytariladi
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                try {
+                    start = range.getRangeStart(fileLength);
+                    end = range.getRangeEnd(fileLength);
+                } catch (IllegalArgumentException e) {
+                    sendRangeNotSatisfiable(response, fileLength);
+                    return;
+                }
+                if (start > end) {
+                    sendRangeNotSatisfiable(response, fileLength);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + fileLength);
+            }
+        }
+
+        long contentLength = fileLength == 0 ? 0 : end - start + 1;
+        response.setContentLengthLong(contentLength);
+
+        if ("HEAD".equalsIgnoreCase(request.getMethod()) || contentLength == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat response'ni o'zi sendfile() bilan yozadi - JVM heap'dan o'tmaydi
+            request.setAttribute(SENDFILE_FILENAME, filePath.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        transfer(filePath, start, contentLength, response);
+    }
+
+    private void transfer(Path filePath, long start, long count, HttpServletResponse response) throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+            response.flushBuffer();
+        }
+    }
+
+    /**
+     * If-Range berilgan bo'lsa, faqat file o'zgarmagan bo'lsa range qo'llanadi
+     */
+    private boolean isRangeApplicable(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            long ifRangeDate = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return ifRangeDate != -1 && lastModified / 1000 <= ifRangeDate / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private void sendRangeNotSatisfiable(HttpServletResponse response, long fileLength) {
+        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + fileLength);
+    }
+
+    private String cacheControl(String filename) {
+        if (IMMUTABLE_FILENAME.matcher(filename).matches()) {
+            return "public, max-age=" + immutableMaxAgeSeconds + ", immutable";
+        }
+        return "public, max-age=" + defaultMaxAgeSeconds;
+    }
+}
@@ -5,6 +5,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
 @Component
 public class IpAddressUtil {
     
@@ -61,6 +64,36 @@ public class IpAddressUtil {
         return ip != null ? ip : "unknown";
     }
     
+    /**
+     * Client soxtalashtira olmaydigan manzil - rate limit kalitlari uchun.
+     * X-Forwarded-For'ning birinchi elementini client o'zi yozadi (nginx unga qo'shib boradi), shuning uchun
+     * ishlatilmaydi. X-Real-IP'ni nginx $remote_addr bilan qayta yozadi - unga faqat so'rov ishonchli
+     * proxy'dan (loopback yoki private tarmoq) kelganda ishoniladi, aks holda TCP manzil.
+     */
+    public String getTrustedClientIpAddress(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (isTrustedProxy(remoteAddr)) {
+            String realIp = request.getHeader("X-Real-IP");
+            if (realIp != null && !realIp.isBlank()) {
+                return realIp.trim();
+            }
+        }
+        return remoteAddr != null ? remoteAddr : "unknown";
+    }
+
+    private boolean isTrustedProxy(String remoteAddr) {
+        if (remoteAddr == null || remoteAddr.isBlank()) {
+            return false;
+        }
+        try {
+            // IP literal - DNS so'rovi bo'lmaydi
+            InetAddress address = InetAddress.getByName(remoteAddr);
+            return address.isLoopbackAddress() || address.isSiteLocalAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
     private boolean isIPv4(String ip) {
         if (ip == null || ip.isEmpty()) {
             return false;
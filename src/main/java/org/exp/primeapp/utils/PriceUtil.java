@@ -0,0 +1,39 @@
+package org.exp.primeapp.utils;
+
+import org.exp.primeapp.models.entities.Product;
+import org.exp.primeapp.models.enums.ProductTag;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Yagona narx qoidasi: discount faqat tag = SALE va 0 < discountPercent <= 100 bo'lsa qo'llanadi.
+ * Listing, savat va price quote shu yerdan hisoblaydi (product_cards SQL'i ham shu qoidada). Checkout quote'dagi
+ * narxni oladi; quote yaroqsiz bo'lsa o'zining avvalgi qoidasi bilan hisoblaydi.
+ */
+@Component
+public class PriceUtil {
+
+    public int effectiveDiscountPercent(Integer discountPercent, ProductTag tag) {
+        int discount = discountPercent != null ? discountPercent : 0;
+        return discount > 0 && discount <= 100 && tag == ProductTag.SALE ? discount : 0;
+    }
+
+    /**
+     * Sotuv narxi: price - (price * discount / 100), 2 xonagacha yaxlitlangan
+     */
+    public BigDecimal unitPrice(BigDecimal price, Integer discountPercent, ProductTag tag) {
+        if (price == null) {
+            return null;
+        }
+        int discount = effectiveDiscountPercent(discountPercent, tag);
+        BigDecimal discountAmount = price.multiply(BigDecimal.valueOf(discount))
+                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+        return price.subtract(discountAmount).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public BigDecimal unitPrice(Product product) {
+        return unitPrice(product.getPrice(), product.getDiscountPercent(), product.getTag());
+    }
+}
@@ -0,0 +1,55 @@
+package org.exp.primeapp.utils;
+
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Qidiruv uchun matnni bitta ko'rinishga keltiradi: o'zbek kirill -> lotin, kichik harf,
+ * diakritika va apostroflarsiz (o'/oʻ/o` -> o), bo'shliqlar bitta.
+ * "Кроссовка" va "krossovka", "Ғишт" va "g'isht" bir xil natija beradi.
+ */
+@Component
+public class TransliterationUtil {
+
+    private static final Map<Character, String> CYRILLIC_TO_LATIN = Map.ofEntries(
+            Map.entry('а', "a"), Map.entry('б', "b"), Map.entry('в', "v"), Map.entry('г', "g"),
+            Map.entry('д', "d"), Map.entry('е', "e"), Map.entry('ё', "yo"), Map.entry('ж', "j"),
+            Map.entry('з', "z"), Map.entry('и', "i"), Map.entry('й', "y"), Map.entry('к', "k"),
+            Map.entry('л', "l"), Map.entry('м', "m"), Map.entry('н', "n"), Map.entry('о', "o"),
+            Map.entry('п', "p"), Map.entry('р', "r"), Map.entry('с', "s"), Map.entry('т', "t"),
+            Map.entry('у', "u"), Map.entry('ф', "f"), Map.entry('х', "x"), Map.entry('ц', "ts"),
+            Map.entry('ч', "ch"), Map.entry('ш', "sh"), Map.entry('щ', "sh"), Map.entry('ъ', ""),
+            Map.entry('ы', "i"), Map.entry('ь', ""), Map.entry('э', "e"), Map.entry('ю', "yu"),
+            Map.entry('я', "ya"), Map.entry('ў', "o"), Map.entry('қ', "q"), Map.entry('ғ', "g"),
+            Map.entry('ҳ', "h")
+    );
+
+    // o', g' va tutuq belgisi turli klaviaturalarda turlicha yoziladi - hammasi olib tashlanadi
+    private static final Pattern APOSTROPHES = Pattern.compile("['`ʻʼ‘’ʹ]");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    public String normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        StringBuilder latin = new StringBuilder(lower.length() + 8);
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            String replacement = CYRILLIC_TO_LATIN.get(c);
+            latin.append(replacement != null ? replacement : String.valueOf(c));
+        }
+
+        String withoutApostrophes = APOSTROPHES.matcher(latin).replaceAll("");
+        // é -> e: NFD'da diakritika alohida belgi bo'ladi
+        String withoutMarks = COMBINING_MARKS.matcher(Normalizer.normalize(withoutApostrophes, Normalizer.Form.NFD))
+                .replaceAll("");
+        return NON_ALPHANUMERIC.matcher(withoutMarks).replaceAll(" ").strip();
+    }
+}
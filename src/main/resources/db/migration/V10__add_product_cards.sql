@@ -0,0 +1,36 @@
+-- Migration V10: Denormalized storefront read model
+-- One row per ON_SALE product: card columns, main image, computed discount price, sizes, stock, category.
+-- Kept in sync in the same transaction as product/attachment/inventory/order writes (ProductCardSync).
+-- Rows are filled on first startup and can be rebuilt via POST /api/v2/admin/product/cards/rebuild.
+
+CREATE TABLE IF NOT EXISTS product_cards (
+    product_id BIGINT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    brand VARCHAR(255) NOT NULL,
+    color_name VARCHAR(255) NOT NULL,
+    color_hex VARCHAR(255) NOT NULL,
+    tag VARCHAR(50) NOT NULL,
+    price NUMERIC(19, 2) NOT NULL,
+    discount_percent INTEGER NOT NULL DEFAULT 0,
+    discount_price NUMERIC(19, 2) NOT NULL,
+    main_image_url VARCHAR(500),
+    main_image_card_url VARCHAR(500),
+    sizes VARCHAR(1000) NOT NULL DEFAULT '',
+    size_mask BIGINT NOT NULL DEFAULT 0,
+    total_stock INTEGER NOT NULL DEFAULT 0,
+    sales_count INTEGER NOT NULL DEFAULT 0,
+    category_id BIGINT NOT NULL,
+    category_name VARCHAR(255) NOT NULL,
+    spotlight_name VARCHAR(255),
+    refreshed_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_product_card_product FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_product_card_category_id ON product_cards(category_id);
+CREATE INDEX IF NOT EXISTS idx_product_card_category_name ON product_cards(category_name, product_id);
+CREATE INDEX IF NOT EXISTS idx_product_card_spotlight ON product_cards(spotlight_name, product_id);
+CREATE INDEX IF NOT EXISTS idx_product_card_tag ON product_cards(tag, product_id);
+CREATE INDEX IF NOT EXISTS idx_product_card_brand ON product_cards(brand);
+CREATE INDEX IF NOT EXISTS idx_product_card_color ON product_cards(color_name);
+CREATE INDEX IF NOT EXISTS idx_product_card_price ON product_cards(price, product_id);
+CREATE INDEX IF NOT EXISTS idx_product_card_discount ON product_cards(discount_percent, product_id);
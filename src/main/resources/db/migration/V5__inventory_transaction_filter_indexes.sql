@@ -0,0 +1,5 @@
+-- Migration V5: Composite indexes for inventory transaction list/stats filters
+-- Default list is ordered by created_at and usually filtered by type or product
+
+CREATE INDEX IF NOT EXISTS idx_inventory_transaction_type_created_at ON inventory_transactions(type, created_at);
+CREATE INDEX IF NOT EXISTS idx_inventory_transaction_product_created_at ON inventory_transactions(product_id, created_at);
@@ -0,0 +1,6 @@
+-- Migration V6: Resized image variants generated after upload
+-- NULL means the variant is not generated yet - clients fall back to the original url
+
+ALTER TABLE attachments ADD COLUMN IF NOT EXISTS thumbnail_url VARCHAR(500);
+ALTER TABLE attachments ADD COLUMN IF NOT EXISTS card_url VARCHAR(500);
+ALTER TABLE attachments ADD COLUMN IF NOT EXISTS detail_url VARCHAR(500);
@@ -0,0 +1,6 @@
+-- Migration V7: Index for OTP login lookup by verify_code
+-- Partial index - most users have no pending code
+
+CREATE INDEX IF NOT EXISTS idx_app_users_verify_code
+    ON app_users(verify_code, verify_code_expiration)
+    WHERE verify_code IS NOT NULL;
@@ -0,0 +1,6 @@
+-- Migration V8: Indexes for storefront keyset (cursor) listing
+-- Each index matches one sort order with the id tiebreak, so the seek predicate is an index range scan
+
+CREATE INDEX IF NOT EXISTS idx_product_status_id ON products(status, id);
+CREATE INDEX IF NOT EXISTS idx_product_status_price_id ON products(status, price, id);
+CREATE INDEX IF NOT EXISTS idx_product_status_discount_id ON products(status, discount_percent, id);
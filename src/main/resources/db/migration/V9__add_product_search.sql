@@ -0,0 +1,24 @@
+-- Migration V9: Full-text product search
+-- 'simple' config: kontent o'zbek/rus tillarida, stemming lug'ati yo'q - so'zlar o'zgarmasdan indexlanadi
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Weighted tsvector: name/brand > category/color > description
+ALTER TABLE products ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(brand, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(category_name, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(color_name, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'C')
+    ) STORED;
+
+-- Typo tolerance uchun qisqa maydonlar (description'siz) - trigram word similarity
+ALTER TABLE products ADD COLUMN IF NOT EXISTS search_text TEXT
+    GENERATED ALWAYS AS (
+        coalesce(name, '') || ' ' || coalesce(brand, '') || ' ' ||
+        coalesce(category_name, '') || ' ' || coalesce(color_name, '')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_product_search_vector ON products USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_product_search_text_trgm ON products USING GIN (search_text gin_trgm_ops);
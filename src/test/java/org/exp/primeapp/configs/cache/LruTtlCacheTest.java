@@ -0,0 +1,167 @@
+package org.exp.primeapp.configs.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LruTtlCacheTest {
+
+    @Test
+    void entryExpiresAfterTtl() throws InterruptedException {
+        LruTtlCache<String, String> cache = new LruTtlCache<>(10, Duration.ofMillis(20));
+        cache.put("a", "1");
+        assertEquals("1", cache.get("a"));
+
+        Thread.sleep(60);
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void expiredEntryIsReloaded() throws InterruptedException {
+        LruTtlCache<String, String> cache = new LruTtlCache<>(10, Duration.ofMillis(20));
+        AtomicInteger loads = new AtomicInteger();
+        cache.getOrLoad("a", () -> "v" + loads.incrementAndGet());
+
+        Thread.sleep(60);
+
+        assertEquals("v2", cache.getOrLoad("a", () -> "v" + loads.incrementAndGet()));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondMaxSize() {
+        LruTtlCache<String, String> cache = new LruTtlCache<>(2, Duration.ofMinutes(1));
+        cache.put("a", "1");
+        cache.put("b", "2");
+        // a oxirgi ishlatilgan bo'ladi - b chiqib ketadi
+        cache.get("a");
+        cache.put("c", "3");
+
+        assertEquals(2, cache.size());
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("3", cache.get("c"));
+    }
+
+    @Test
+    void getOrLoadCachesLoadedValue() {
+        LruTtlCache<String, String> cache = new LruTtlCache<>(10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v", cache.getOrLoad("a", () -> {
+            loads.incrementAndGet();
+            return "v";
+        }));
+        assertEquals("v", cache.getOrLoad("a", () -> {
+            loads.incrementAndGet();
+            return "other";
+        }));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getOrLoadDoesNotStoreNull() {
+        LruTtlCache<String, String> cache = new LruTtlCache<>(10, Duration.ofMinutes(1));
+
+        assertNull(cache.getOrLoad("a", () -> null));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void getOrLoadDoesNotStoreValueLoadedDuringInvalidation() {
+        LruTtlCache<String, String> cache = new LruTtlCache<>(10, Duration.ofMinutes(1));
+
+        String loaded = cache.getOrLoad("a", () -> {
+            cache.invalidate("a");
+            return "stale";
+        });
+
+        assertEquals("stale", loaded);
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void getAllOrLoadLoadsOnlyMissingKeys() {
+        LruTtlCache<Long, String> cache = new LruTtlCache<>(10, Duration.ofMinutes(1));
+        cache.put(1L, "one");
+        List<List<Long>> requested = new ArrayList<>();
+
+        Map<Long, String> result = cache.getAllOrLoad(List.of(1L, 2L, 3L), missing -> {
+            requested.add(missing);
+            // 3 topilmadi
+            return Map.of(2L, "two");
+        });
+
+        assertEquals(List.of(List.of(2L, 3L)), requested);
+        assertEquals(Map.of(1L, "one", 2L, "two"), result);
+        assertEquals("two", cache.get(2L));
+        assertNull(cache.get(3L));
+    }
+
+    @Test
+    void getAllOrLoadSkipsLoaderWhenAllCached() {
+        LruTtlCache<Long, String> cache = new LruTtlCache<>(10, Duration.ofMinutes(1));
+        cache.put(1L, "one");
+
+        Map<Long, String> result = cache.getAllOrLoad(List.of(1L), missing -> {
+            throw new AssertionError("loader should not be called");
+        });
+
+        assertEquals(Map.of(1L, "one"), result);
+    }
+
+    @Test
+    void getAllOrLoadDoesNotStoreValuesLoadedDuringInvalidation() {
+        LruTtlCache<Long, String> cache = new LruTtlCache<>(10, Duration.ofMinutes(1));
+
+        Map<Long, String> result = cache.getAllOrLoad(List.of(1L, 2L), missing -> {
+            cache.invalidateAll();
+            Map<Long, String> loaded = new HashMap<>();
+            missing.forEach(id -> loaded.put(id, "stale" + id));
+            return loaded;
+        });
+
+        assertEquals(Map.of(1L, "stale1", 2L, "stale2"), result);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void putIfUnchangedRejectsStaleGeneration() {
+        LruTtlCache<String, String> cache = new LruTtlCache<>(10, Duration.ofMinutes(1));
+        long generation = cache.generation();
+
+        assertTrue(cache.putIfUnchanged("a", "1", generation));
+
+        cache.invalidateIf(key -> key.equals("b"));
+
+        assertFalse(cache.putIfUnchanged("a", "2", generation));
+        assertEquals("1", cache.get("a"));
+        assertTrue(cache.putIfUnchanged("a", "2", cache.generation()));
+        assertEquals("2", cache.get("a"));
+    }
+
+    @Test
+    void invalidateValuesIfRemovesMatchingValues() {
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>(10, Duration.ofMinutes(1));
+        long generation = cache.generation();
+        cache.put("a", 1);
+        cache.put("b", 2);
+
+        cache.invalidateValuesIf(value -> value == 2);
+
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertTrue(cache.generation() > generation);
+    }
+}
@@ -0,0 +1,140 @@
+package org.exp.primeapp.controller.global.advice;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.exp.primeapp.models.dto.responce.user.ProductRes;
+import org.exp.primeapp.models.dto.responce.user.ProductSizeRes;
+import org.exp.primeapp.models.dto.responce.user.page.PageRes;
+import org.exp.primeapp.models.enums.Size;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * fields= tanlovi va 50 elementli listing sahifasi uchun payload hajmi / serialization vaqti solishtiruvi
+ */
+class SparseFieldsAdviceTest {
+
+    private static final String LISTING_FIELDS = "name,price,discountPrice,sizes.size";
+    private static final int PAGE_SIZE = 50;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 500;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SparseFieldsAdvice advice = new SparseFieldsAdvice(objectMapper);
+
+    @Test
+    void keepsSelectedFieldsOfEachPageItem() {
+        JsonNode result = (JsonNode) write(page(), LISTING_FIELDS);
+
+        assertEquals(PAGE_SIZE, result.get("content").size());
+        assertEquals(PAGE_SIZE, result.get("size").asInt());
+        JsonNode item = result.get("content").get(0);
+        assertTrue(item.has("id"));
+        assertTrue(item.has("name"));
+        assertTrue(item.has("price"));
+        assertFalse(item.has("description"));
+        assertFalse(item.has("images"));
+        JsonNode size = item.get("sizes").get(0);
+        assertTrue(size.has("id"));
+        assertTrue(size.has("size"));
+        assertFalse(size.has("amount"));
+    }
+
+    @Test
+    void withoutFieldsBodyIsUnchanged() {
+        PageRes<ProductRes> page = page();
+
+        assertSame(page, write(page, null));
+    }
+
+    @Test
+    void compareListingPagePayloadAndSerializationTime() throws Exception {
+        PageRes<ProductRes> page = page();
+
+        byte[] full = objectMapper.writeValueAsBytes(page);
+        byte[] sparse = objectMapper.writeValueAsBytes(write(page, LISTING_FIELDS));
+        assertTrue(sparse.length < full.length / 2, "sparse " + sparse.length + " vs full " + full.length);
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            objectMapper.writeValueAsBytes(page);
+            objectMapper.writeValueAsBytes(write(page, LISTING_FIELDS));
+        }
+        long fullNanos = 0;
+        long sparseNanos = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            objectMapper.writeValueAsBytes(page);
+            fullNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            objectMapper.writeValueAsBytes(write(page, LISTING_FIELDS));
+            sparseNanos += System.nanoTime() - start;
+        }
+
+        // Vaqt faqat hisobot uchun - CI mashinalarida barqaror emas, assert qilinmaydi
+        System.out.printf("%d-item page: full %d bytes, %.1f us; fields=%s %d bytes, %.1f us%n",
+                PAGE_SIZE, full.length, fullNanos / 1000.0 / MEASURED_ROUNDS,
+                LISTING_FIELDS, sparse.length, sparseNanos / 1000.0 / MEASURED_ROUNDS);
+    }
+
+    private Object write(Object body, String fields) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products");
+        if (fields != null) {
+            request.setParameter(SparseFieldsAdvice.FIELDS_PARAM, fields);
+        }
+        return advice.beforeBodyWrite(body, null, MediaType.APPLICATION_JSON,
+                MappingJackson2HttpMessageConverter.class,
+                new ServletServerHttpRequest(request), new ServletServerHttpResponse(new MockHttpServletResponse()));
+    }
+
+    private static PageRes<ProductRes> page() {
+        List<ProductRes> products = new ArrayList<>();
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            products.add(ProductRes.builder()
+                    .id(id)
+                    .name("Krossovka " + id)
+                    .brand("Nike")
+                    .colorName("Qora")
+                    .colorHex("#000000")
+                    .tag("SALE")
+                    .category("Oyoq kiyim")
+                    .description("Yengil va qulay krossovka, kundalik kiyish va sport uchun. ".repeat(6))
+                    .price(new BigDecimal("450000.00"))
+                    .discountPrice(new BigDecimal("405000.00"))
+                    .discount(10)
+                    .images(List.of(
+                            "https://cdn.example.uz/uploads/" + id + "/main.jpg",
+                            "https://cdn.example.uz/uploads/" + id + "/side.jpg",
+                            "https://cdn.example.uz/uploads/" + id + "/back.jpg",
+                            "https://cdn.example.uz/uploads/" + id + "/sole.jpg"))
+                    .sizes(List.of(
+                            new ProductSizeRes(id * 10 + 1, Size.SIZE_40, 5),
+                            new ProductSizeRes(id * 10 + 2, Size.SIZE_41, 3),
+                            new ProductSizeRes(id * 10 + 3, Size.SIZE_42, 0),
+                            new ProductSizeRes(id * 10 + 4, Size.SIZE_43, 7)))
+                    .build());
+        }
+        return PageRes.<ProductRes>builder()
+                .content(products)
+                .page(0)
+                .size(PAGE_SIZE)
+                .totalElements(PAGE_SIZE)
+                .totalPages(1)
+                .last(true)
+                .build();
+    }
+}
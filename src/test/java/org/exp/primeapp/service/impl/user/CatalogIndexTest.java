@@ -0,0 +1,282 @@
+package org.exp.primeapp.service.impl.user;
+
+import org.exp.primeapp.models.dto.request.ProductFacetFilter;
+import org.exp.primeapp.models.dto.responce.user.ProductFacetsRes;
+import org.exp.primeapp.models.enums.ProductTag;
+import org.exp.primeapp.models.events.ProductChangedEvent;
+import org.exp.primeapp.repository.ProductCardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Index natijalari SQL fallback (ProductRepositoryImpl.aggregateFacets va ProductSortOrder.sort) qoidalari bilan
+ * solishtiriladi: quyidagi reference implementatsiya o'sha SQL'ni qatorlar ustida takrorlaydi.
+ */
+class CatalogIndexTest {
+
+    private static final String[] SPOTLIGHTS = {"men", "women", null};
+    private static final String[] CATEGORIES = {"shoes", "shirts", "pants"};
+    private static final String[] COLORS = {"red", "blue", "black", null};
+    private static final String[] BRANDS = {"nike", "adidas", "puma", null};
+    private static final String[] SIZES = {"S", "M", "L", "SIZE_40", "SIZE_41"};
+
+    private final ProductCardRepository productCardRepository = mock(ProductCardRepository.class);
+    private final CatalogIndex catalogIndex = new CatalogIndex(productCardRepository);
+
+    private List<Object[]> rows;
+
+    @BeforeEach
+    void setUp() {
+        rows = randomRows(new Random(42), 200);
+        when(productCardRepository.findCatalogRows()).thenAnswer(invocation -> rows);
+        catalogIndex.rebuild();
+    }
+
+    @Test
+    void emptyBeforeRebuildAndAfterFailure() {
+        CatalogIndex notReady = new CatalogIndex(productCardRepository);
+        assertTrue(notReady.query(filter(), ProductSortOrder.NEWEST, 0, 10).isEmpty());
+        assertTrue(notReady.facets(filter()).isEmpty());
+
+        when(productCardRepository.findCatalogRows()).thenThrow(new IllegalStateException("db down"));
+        catalogIndex.rebuild();
+
+        assertTrue(catalogIndex.query(filter(), ProductSortOrder.NEWEST, 0, 10).isEmpty());
+        assertTrue(catalogIndex.retainMatching(filter(), List.of(1L)).isEmpty());
+    }
+
+    @Test
+    void facetsMatchSqlAggregation() {
+        for (ProductFacetFilter filter : filters()) {
+            assertEquals(sqlFacets(rows, filter), catalogIndex.facets(filter).orElseThrow(), filter.toString());
+        }
+    }
+
+    @Test
+    void facetsKeepSqlOrdering() {
+        ProductFacetFilter filter = filter();
+        ProductFacetsRes expected = sqlFacets(rows, filter);
+        ProductFacetsRes actual = catalogIndex.facets(filter).orElseThrow();
+
+        // Map.equals tartibni tekshirmaydi
+        assertEquals(List.copyOf(expected.colors().keySet()), List.copyOf(actual.colors().keySet()));
+        assertEquals(List.copyOf(expected.sizes().keySet()), List.copyOf(actual.sizes().keySet()));
+    }
+
+    @Test
+    void queryMatchesSqlFilterAndSort() {
+        for (ProductFacetFilter filter : filters()) {
+            for (ProductSortOrder order : ProductSortOrder.values()) {
+                List<Long> expected = sqlQuery(rows, filter, order);
+                for (int offset : new int[]{0, 7}) {
+                    CatalogIndex.CatalogPage page = catalogIndex.query(filter, order, offset, 10).orElseThrow();
+
+                    assertEquals(expected.size(), page.totalElements(), filter + " " + order);
+                    assertEquals(expected.subList(Math.min(offset, expected.size()),
+                            Math.min(offset + 10, expected.size())), page.productIds(), filter + " " + order);
+                }
+            }
+        }
+    }
+
+    @Test
+    void retainMatchingKeepsInputOrder() {
+        ProductFacetFilter filter = new ProductFacetFilter(null, "shoes", null, null, null, null);
+        List<Long> candidates = List.of(5L, 3L, 999L, 1L, 2L, 4L);
+        List<Long> expected = candidates.stream()
+                .filter(Set.copyOf(sqlQuery(rows, filter, ProductSortOrder.NEWEST))::contains)
+                .toList();
+
+        assertEquals(expected, catalogIndex.retainMatching(filter, candidates).orElseThrow());
+    }
+
+    @Test
+    void updateReflectsChangedAndRemovedProducts() {
+        Object[] changed = rows.get(0).clone();
+        changed[3] = "green";
+        changed[1] = new BigDecimal("0.01");
+        Long removedId = (Long) rows.get(1)[0];
+
+        List<Object[]> updated = new ArrayList<>(rows);
+        updated.set(0, changed);
+        updated.remove(1);
+        rows = updated;
+        // removedId ON_SALE emas - DB'dan qaytmaydi
+        when(productCardRepository.findCatalogRowsByIdIn(anyCollection())).thenReturn(List.<Object[]>of(changed));
+
+        catalogIndex.onProductChanged(new ProductChangedEvent(Set.of((Long) changed[0], removedId)));
+
+        for (ProductFacetFilter filter : filters()) {
+            assertEquals(sqlFacets(rows, filter), catalogIndex.facets(filter).orElseThrow(), filter.toString());
+        }
+        assertEquals(sqlQuery(rows, filter(), ProductSortOrder.LOW_PRICE).subList(0, 10),
+                catalogIndex.query(filter(), ProductSortOrder.LOW_PRICE, 0, 10).orElseThrow().productIds());
+    }
+
+    @Test
+    void unknownFilterValueMatchesNothing() {
+        ProductFacetFilter filter = new ProductFacetFilter(null, null, "purple", null, null, null);
+
+        assertEquals(0, catalogIndex.query(filter, ProductSortOrder.NEWEST, 0, 10).orElseThrow().totalElements());
+        assertEquals(sqlFacets(rows, filter), catalogIndex.facets(filter).orElseThrow());
+    }
+
+    private static List<Object[]> randomRows(Random random, int count) {
+        List<Object[]> result = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            // Tiebreak tekshirilishi uchun narx va chegirmalar ko'p takrorlanadi
+            BigDecimal price = BigDecimal.valueOf(random.nextInt(20) * 500L + 1000, 2);
+            Integer discount = random.nextInt(5) == 0 ? null : random.nextInt(4) * 10;
+            ProductTag tag = random.nextInt(4) == 0 ? null : ProductTag.values()[random.nextInt(3)];
+            List<String> productSizes = Arrays.stream(SIZES).filter(size -> random.nextBoolean()).toList();
+            result.add(new Object[]{
+                    id,
+                    price,
+                    discount,
+                    pick(random, COLORS),
+                    pick(random, BRANDS),
+                    tag,
+                    pick(random, CATEGORIES),
+                    pick(random, SPOTLIGHTS),
+                    productSizes.isEmpty() ? null : String.join(",", productSizes)
+            });
+        }
+        return result;
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static ProductFacetFilter filter() {
+        return new ProductFacetFilter(null, null, null, null, null, null);
+    }
+
+    private static List<ProductFacetFilter> filters() {
+        return List.of(
+                filter(),
+                new ProductFacetFilter("men", null, null, null, null, null),
+                new ProductFacetFilter(null, "shoes", null, null, null, null),
+                new ProductFacetFilter(null, null, "red", "M", null, null),
+                new ProductFacetFilter("women", "shirts", null, null, "nike", null),
+                new ProductFacetFilter(null, null, null, "SIZE_40", null, "SALE"),
+                new ProductFacetFilter("men", "pants", "blue", "L", "adidas", "NEW"),
+                new ProductFacetFilter("nobody", null, null, null, null, null));
+    }
+
+    // --- SQL fallback'ning reference implementatsiyasi ---
+
+    private enum Dimension {CATEGORY, COLOR, SIZE, BRAND, TAG}
+
+    private static List<String> values(Object[] row, Dimension dimension) {
+        return switch (dimension) {
+            case CATEGORY -> nullable(row[6]);
+            case COLOR -> nullable(row[3]);
+            case BRAND -> nullable(row[4]);
+            case TAG -> row[5] == null ? List.of() : List.of(((ProductTag) row[5]).name());
+            case SIZE -> row[8] == null ? List.of() : List.of(((String) row[8]).split(","));
+        };
+    }
+
+    private static List<String> nullable(Object value) {
+        return value == null ? List.of() : List.of((String) value);
+    }
+
+    private static String filterValue(ProductFacetFilter filter, Dimension dimension) {
+        return switch (dimension) {
+            case CATEGORY -> filter.categoryName();
+            case COLOR -> filter.colorName();
+            case SIZE -> filter.sizeName();
+            case BRAND -> filter.brandName();
+            case TAG -> filter.tag();
+        };
+    }
+
+    // WHERE p.status = :status AND c.spotlight_name = :spotlightName
+    private static boolean inScope(Object[] row, ProductFacetFilter filter) {
+        return filter.spotlightName() == null || filter.spotlightName().equals(row[7]);
+    }
+
+    // FILTER (WHERE ...) - excluded dimension'dan tashqari barcha filterlar
+    private static boolean matches(Object[] row, ProductFacetFilter filter, Dimension excluded) {
+        for (Dimension dimension : Dimension.values()) {
+            String value = filterValue(filter, dimension);
+            if (dimension != excluded && value != null && !values(row, dimension).contains(value)) {
+                return false;
+            }
+        }
+        return inScope(row, filter);
+    }
+
+    private static ProductFacetsRes sqlFacets(List<Object[]> rows, ProductFacetFilter filter) {
+        Function<Dimension, Map<String, Long>> counts = dimension -> {
+            Map<String, Long> result = new HashMap<>();
+            for (Object[] row : rows) {
+                if (!inScope(row, filter)) {
+                    continue;
+                }
+                long count = matches(row, filter, dimension) ? 1 : 0;
+                for (String value : values(row, dimension)) {
+                    result.merge(value, count, Long::sum);
+                }
+            }
+            return sortedByCount(result);
+        };
+        return ProductFacetsRes.builder()
+                .totalCount(rows.stream().filter(row -> matches(row, filter, null)).count())
+                .categories(counts.apply(Dimension.CATEGORY))
+                .colors(counts.apply(Dimension.COLOR))
+                .sizes(counts.apply(Dimension.SIZE))
+                .brands(counts.apply(Dimension.BRAND))
+                .tags(counts.apply(Dimension.TAG))
+                .build();
+    }
+
+    private static Map<String, Long> sortedByCount(Map<String, Long> counts) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    // ProductSortOrder.sort(): kalit va id bir xil yo'nalishda, discount null bo'lsa 0
+    private static List<Long> sqlQuery(List<Object[]> rows, ProductFacetFilter filter, ProductSortOrder order) {
+        Comparator<Object[]> byId = Comparator.comparingLong(row -> (Long) row[0]);
+        Comparator<Object[]> byPrice = Comparator.<Object[], BigDecimal>comparing(row -> (BigDecimal) row[1])
+                .thenComparing(byId);
+        Comparator<Object[]> byDiscount = Comparator.<Object[]>comparingInt(row -> row[2] != null ? (Integer) row[2] : 0)
+                .thenComparing(byId);
+        Comparator<Object[]> comparator = switch (order) {
+            case NEWEST -> byId.reversed();
+            case DISCOUNT -> byDiscount.reversed();
+            case LOW_PRICE -> byPrice;
+            case HIGH_PRICE -> byPrice.reversed();
+        };
+        return rows.stream()
+                .filter(row -> matches(row, filter, null))
+                .sorted(comparator)
+                .map(row -> (Long) row[0])
+                .toList();
+    }
+}
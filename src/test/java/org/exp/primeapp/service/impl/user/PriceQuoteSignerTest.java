@@ -0,0 +1,73 @@
+package org.exp.primeapp.service.impl.user;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PriceQuoteSignerTest {
+
+    private static final List<PriceQuote.Line> LINES = List.of(
+            new PriceQuote.Line(1L, 10L, new BigDecimal("99.90"), 123L));
+
+    private final PriceQuoteSigner signer = new PriceQuoteSigner("test-secret", 900);
+
+    @Test
+    void verifyReturnsSignedQuote() {
+        long before = Instant.now().getEpochSecond();
+
+        PriceQuote quote = signer.verify(signer.sign(LINES));
+
+        assertNotNull(quote);
+        assertEquals(LINES, quote.lines());
+        assertTrue(quote.expiresAt() >= before + 900);
+    }
+
+    @Test
+    void verifyRejectsTamperedPayload() {
+        String token = signer.sign(LINES);
+        String signature = token.substring(token.indexOf('.') + 1);
+        PriceQuote forged = new PriceQuote(Instant.now().getEpochSecond() + 900,
+                List.of(new PriceQuote.Line(1L, 10L, new BigDecimal("0.01"), 123L)));
+        String payload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(forged.encode().getBytes(StandardCharsets.UTF_8));
+
+        assertNull(signer.verify(payload + "." + signature));
+    }
+
+    @Test
+    void verifyRejectsTamperedSignature() {
+        String token = signer.sign(LINES);
+        String payload = token.substring(0, token.indexOf('.'));
+        String otherSignature = new PriceQuoteSigner("other-secret", 900).sign(LINES);
+
+        assertNull(signer.verify(payload + "." + otherSignature.substring(otherSignature.indexOf('.') + 1)));
+    }
+
+    @Test
+    void verifyRejectsExpiredToken() {
+        PriceQuoteSigner expired = new PriceQuoteSigner("test-secret", -1);
+
+        assertNull(signer.verify(expired.sign(LINES)));
+    }
+
+    @Test
+    void verifyRejectsMalformedToken() {
+        assertNull(signer.verify(null));
+        assertNull(signer.verify(""));
+        assertNull(signer.verify("   "));
+        assertNull(signer.verify("no-dot"));
+        assertNull(signer.verify("***.***"));
+        String garbage = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("garbage".getBytes(StandardCharsets.UTF_8));
+        assertNull(signer.verify(garbage + "." + garbage));
+    }
+}
@@ -0,0 +1,64 @@
+package org.exp.primeapp.service.impl.user;
+
+import org.exp.primeapp.models.enums.ProductTag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PriceQuoteTest {
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        PriceQuote quote = new PriceQuote(1_700_000_000L, List.of(
+                new PriceQuote.Line(1L, 10L, new BigDecimal("99.90"), 123L),
+                new PriceQuote.Line(2L, 20L, new BigDecimal("5"), -7L)));
+
+        PriceQuote decoded = PriceQuote.decode(quote.encode());
+
+        assertEquals(quote, decoded);
+        assertEquals(new BigDecimal("99.90"), decoded.find(1L, 10L).unitPrice());
+        assertNull(decoded.find(1L, 20L));
+    }
+
+    @Test
+    void encodeDecodeEmptyLines() {
+        PriceQuote quote = new PriceQuote(42L, List.of());
+
+        assertTrue(PriceQuote.decode(quote.encode()).lines().isEmpty());
+    }
+
+    @Test
+    void decodeRejectsMalformedInput() {
+        assertThrows(IllegalArgumentException.class, () -> PriceQuote.decode("no-separator"));
+        assertThrows(IllegalArgumentException.class, () -> PriceQuote.decode("abc|1:2:3.00:4"));
+        assertThrows(IllegalArgumentException.class, () -> PriceQuote.decode("1|1:2:3.00"));
+        assertThrows(IllegalArgumentException.class, () -> PriceQuote.decode("1|1:2:x:4"));
+        assertThrows(IllegalArgumentException.class, () -> PriceQuote.decode("1|a|b"));
+    }
+
+    @Test
+    void priceVersionIgnoresScale() {
+        assertEquals(
+                PriceQuote.priceVersion(new BigDecimal("10.00"), 5, ProductTag.SALE),
+                PriceQuote.priceVersion(new BigDecimal("10.0"), 5, ProductTag.SALE));
+        assertEquals(
+                PriceQuote.priceVersion(new BigDecimal("10"), null, ProductTag.NEW),
+                PriceQuote.priceVersion(new BigDecimal("10"), 0, ProductTag.NEW));
+    }
+
+    @Test
+    void priceVersionChangesWithPricingFields() {
+        long base = PriceQuote.priceVersion(new BigDecimal("10.00"), 5, ProductTag.SALE);
+
+        assertNotEquals(base, PriceQuote.priceVersion(new BigDecimal("10.01"), 5, ProductTag.SALE));
+        assertNotEquals(base, PriceQuote.priceVersion(new BigDecimal("10.00"), 6, ProductTag.SALE));
+        assertNotEquals(base, PriceQuote.priceVersion(new BigDecimal("10.00"), 5, ProductTag.HOT));
+    }
+}
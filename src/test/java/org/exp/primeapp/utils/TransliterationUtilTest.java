@@ -0,0 +1,54 @@
+package org.exp.primeapp.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TransliterationUtilTest {
+
+    private final TransliterationUtil transliterationUtil = new TransliterationUtil();
+
+    @Test
+    void cyrillicAndLatinNormalizeToSameText() {
+        assertEquals("krossovka", transliterationUtil.normalize("Кроссовка"));
+        assertEquals(transliterationUtil.normalize("krossovka"), transliterationUtil.normalize("Кроссовка"));
+        assertEquals(transliterationUtil.normalize("g'isht"), transliterationUtil.normalize("Ғишт"));
+    }
+
+    @Test
+    void uzbekLettersAreTransliterated() {
+        assertEquals("qoshiq", transliterationUtil.normalize("Қошиқ"));
+        assertEquals("hovli", transliterationUtil.normalize("ҳовли"));
+        assertEquals("ochiq", transliterationUtil.normalize("ўчиқ"));
+        assertEquals("yangi shim", transliterationUtil.normalize("Янги шим"));
+        assertEquals("tsirk", transliterationUtil.normalize("цирк"));
+    }
+
+    @Test
+    void apostropheVariantsAreRemoved() {
+        String expected = "ozbek";
+        assertEquals(expected, transliterationUtil.normalize("o'zbek"));
+        assertEquals(expected, transliterationUtil.normalize("oʻzbek"));
+        assertEquals(expected, transliterationUtil.normalize("o`zbek"));
+        assertEquals(expected, transliterationUtil.normalize("o’zbek"));
+        assertEquals(expected, transliterationUtil.normalize("ʼOʻZBEK"));
+    }
+
+    @Test
+    void diacriticsAreStripped() {
+        assertEquals("cafe creme", transliterationUtil.normalize("Café Crème"));
+    }
+
+    @Test
+    void punctuationAndWhitespaceCollapse() {
+        assertEquals("nike air max 90", transliterationUtil.normalize("  Nike   Air-Max, 90!  "));
+    }
+
+    @Test
+    void blankInputReturnsEmpty() {
+        assertEquals("", transliterationUtil.normalize(null));
+        assertEquals("", transliterationUtil.normalize(""));
+        assertEquals("", transliterationUtil.normalize("   "));
+        assertEquals("", transliterationUtil.normalize("!?-"));
+    }
+}